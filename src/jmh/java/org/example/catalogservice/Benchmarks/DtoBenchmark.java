@@ -0,0 +1,96 @@
+package org.example.catalogservice.Benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.ResponseDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.Models.MenuItem;
+import org.example.catalogservice.Models.Restaurant;
+import org.example.catalogservice.Services.MenuItemService;
+import org.example.catalogservice.Services.RestaurantService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// DTO conversion and response serialization, no Spring context or database involved.
+// The legacy* benchmarks are the Optional-wrapped LegacyGetResponseDTO, for comparison with the records
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Entities {
+        final RestaurantService restaurantService = new RestaurantService();
+        final MenuItemService menuItemService = new MenuItemService();
+        final Restaurant restaurant = new Restaurant("Pizza Place", "123 Main St");
+        final MenuItem menuItem = new MenuItem("Margherita Pizza", 80);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Menu {
+        @Param({"10", "1000", "10000", "100000"})
+        public int menuSize;
+
+        // configured like the application's own mapper, Jdk8Module included for the Optional fields
+        final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        final MenuItemService menuItemService = new MenuItemService();
+        List<MenuItem> menuItems;
+        ResponseDTO<List<LegacyGetResponseDTO>> legacyMenu;
+        ResponseDTO<List<MenuItemSummaryDTO>> menu;
+
+        @Setup
+        public void setUp() {
+            menuItems = IntStream.range(0, menuSize)
+                    .mapToObj(i -> new MenuItem("item-" + i, i % 500 + 1))
+                    .toList();
+            legacyMenu = new ResponseDTO<>(200, menuItems.stream().map(LegacyGetResponseDTO::of).toList());
+            menu = new ResponseDTO<>(200, menuItems.stream().map(menuItemService::convertToDto).toList());
+        }
+    }
+
+    @Benchmark
+    public RestaurantSummaryDTO convertToDtoRestaurant(Entities entities) {
+        return entities.restaurantService.convertToDtoRestaurant(entities.restaurant);
+    }
+
+    @Benchmark
+    public MenuItemSummaryDTO convertToDtoMenuItem(Entities entities) {
+        return entities.menuItemService.convertToDto(entities.menuItem);
+    }
+
+    @Benchmark
+    public LegacyGetResponseDTO legacyConvertMenuItem(Entities entities) {
+        return LegacyGetResponseDTO.of(entities.menuItem);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<MenuItemSummaryDTO> convertMenu(Menu menu) {
+        return menu.menuItems.stream().map(menu.menuItemService::convertToDto).toList();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<LegacyGetResponseDTO> legacyConvertMenu(Menu menu) {
+        return menu.menuItems.stream().map(LegacyGetResponseDTO::of).toList();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] serializeMenu(Menu menu) throws JsonProcessingException {
+        return menu.objectMapper.writeValueAsBytes(menu.menu);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] legacySerializeMenu(Menu menu) throws JsonProcessingException {
+        return menu.objectMapper.writeValueAsBytes(menu.legacyMenu);
+    }
+}
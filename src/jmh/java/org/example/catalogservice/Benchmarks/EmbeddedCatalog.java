@@ -0,0 +1,85 @@
+package org.example.catalogservice.Benchmarks;
+
+import org.example.catalogservice.CatalogServiceApplication;
+import org.example.catalogservice.DTO.RequestDTO;
+import org.example.catalogservice.Repositories.RestaurantMenuItemRepository;
+import org.example.catalogservice.Services.MenuItemService;
+import org.example.catalogservice.Services.RestaurantService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Boots the whole application against an in-memory H2 database (PostgreSQL mode) and seeds
+// one restaurant whose menu holds menuSize items, plus a few spare items left unassigned.
+@State(Scope.Benchmark)
+public class EmbeddedCatalog {
+    static final int SPARE_ITEMS = 10;
+
+    @Param({"10", "1000", "100000"})
+    public int menuSize;
+
+    ConfigurableApplicationContext context;
+    RestaurantService restaurantService;
+    MenuItemService menuItemService;
+    JdbcTemplate jdbcTemplate;
+    int restaurantId;
+    int[] menu;
+    String spareIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(CatalogServiceApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:catalog-" + menuSize
+                        + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///catalog-" + menuSize
+                        + "?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                "--spring.r2dbc.username=sa",
+                "--spring.r2dbc.password=",
+                "--spring.main.banner-mode=off",
+                "--server.port=0",
+                "--logging.level.root=WARN");
+        restaurantService = context.getBean(RestaurantService.class);
+        menuItemService = context.getBean(MenuItemService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        menuItemService.addMenuItems(menuItems(menuSize + SPARE_ITEMS));
+        restaurantService.addRestaurant("benchmark restaurant", "1 Benchmark Way");
+        restaurantId = jdbcTemplate.queryForObject(
+                "select id from restaurants where name = 'benchmark restaurant'", Integer.class);
+
+        List<Integer> ids = jdbcTemplate.queryForList("select id from menu_items order by id", Integer.class);
+        menu = ids.subList(0, menuSize).stream().mapToInt(Integer::intValue).toArray();
+        spareIds = ids.subList(menuSize, menuSize + SPARE_ITEMS).stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        context.getBean(RestaurantMenuItemRepository.class).assignMenuItems(restaurantId, ids.subList(0, menuSize));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    void unassignSpareItems() {
+        jdbcTemplate.update("delete from restaurant_menu_items where restaurant_id = ? and menu_item_id in ("
+                + spareIds + ")", restaurantId);
+    }
+
+    private static Iterator<RequestDTO> menuItems(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            RequestDTO request = new RequestDTO();
+            request.setName("item-" + i);
+            request.setPrice(i % 500 + 1);
+            return request;
+        }).iterator();
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.catalogservice.Benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.ResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Encode and decode time of a menu response in each negotiable format; payload sizes are printed at setup
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"1000"})
+    public int menuSize;
+
+    private ObjectMapper objectMapper;
+    private ResponseDTO<List<MenuItemSummaryDTO>> menu;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        objectMapper = switch (format) {
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> builder.build();
+        };
+        menu = new ResponseDTO<>(200, IntStream.range(0, menuSize)
+                .mapToObj(i -> new MenuItemSummaryDTO(i + 1, "item-" + i, i % 500 + 1))
+                .toList());
+        encoded = objectMapper.writeValueAsBytes(menu);
+        System.out.printf("%n%s payload for %d menu items: %d bytes%n", format, menuSize, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encodeMenu() throws IOException {
+        return objectMapper.writeValueAsBytes(menu);
+    }
+
+    @Benchmark
+    public MenuPayload decodeMenu() throws IOException {
+        return objectMapper.readValue(encoded, MenuPayload.class);
+    }
+
+    // ResponseDTO has no creator Jackson could use, clients read the payload into their own type
+    public record MenuPayload(int statusCode, List<MenuItemSummaryDTO> data) {
+    }
+}
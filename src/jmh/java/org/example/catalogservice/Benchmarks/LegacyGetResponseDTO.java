@@ -0,0 +1,40 @@
+package org.example.catalogservice.Benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.example.catalogservice.Models.MenuItem;
+
+import java.util.Optional;
+
+// the Optional-wrapped response type the single-item GET endpoints used to return, kept only as the
+// baseline for DtoBenchmark (spelled out by hand, Lombok does not run on the jmh source set)
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class LegacyGetResponseDTO {
+    private Integer id;
+    private String name;
+    private Optional<String> address = Optional.empty();
+    private Optional<Integer> price = Optional.empty();
+
+    static LegacyGetResponseDTO of(MenuItem menuItem) {
+        LegacyGetResponseDTO dto = new LegacyGetResponseDTO();
+        dto.id = menuItem.getId();
+        dto.name = menuItem.getName();
+        dto.price = Optional.of(menuItem.getPrice());
+        return dto;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Optional<String> getAddress() {
+        return address;
+    }
+
+    public Optional<Integer> getPrice() {
+        return price;
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.catalogservice.Benchmarks;
+
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.Models.MenuItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RestaurantServiceBenchmark {
+
+    // the spare items are unassigned again before every call, outside the measured time
+    @State(Scope.Thread)
+    public static class SpareItems {
+        @Setup(Level.Invocation)
+        public void reset(EmbeddedCatalog catalog) {
+            catalog.unassignSpareItems();
+        }
+    }
+
+    @Benchmark
+    public String assignMenuItemToRestaurant(EmbeddedCatalog catalog, SpareItems spareItems) {
+        return catalog.restaurantService.assignMenuItemToRestaurant(catalog.restaurantId, catalog.spareIds);
+    }
+
+    @Benchmark
+    public MenuItem getSelectedMenuItemByRestaurantId(EmbeddedCatalog catalog) {
+        int menuItemId = catalog.menu[ThreadLocalRandom.current().nextInt(catalog.menu.length)];
+        return catalog.restaurantService.getSelectedMenuItemByRestaurantId(catalog.restaurantId, menuItemId);
+    }
+
+    @Benchmark
+    public List<MenuItemSummaryDTO> getAllMenuItemsByRestaurantId(EmbeddedCatalog catalog) {
+        return catalog.restaurantService.getAllMenuItemsByRestaurantId(catalog.restaurantId);
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.catalogservice.Benchmarks;
+
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.DTO.SearchHitDTO;
+import org.example.catalogservice.Services.CatalogSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Typeahead latency of the search index over a synthetic catalog with one restaurant per 100 menu items,
+// named from a small vocabulary so that short prefixes match a large share of the documents.
+// "p" is served from the index's short-query results after its first run; the index size and its own
+// memory estimate are printed at setup
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+    private static final String[] WORDS = {"margherita", "pizza", "pepperoni", "paneer", "tikka", "masala", "butter",
+            "chicken", "garlic", "naan", "biryani", "veg", "cheese", "burger", "fries", "pasta", "alfredo", "arrabbiata",
+            "dosa", "idli", "sambar", "noodles", "manchurian", "spring", "roll", "momo", "kebab", "falafel", "wrap",
+            "salad", "soup", "lassi", "mango", "chocolate", "brownie", "kulfi", "coffee", "tea", "special", "classic"};
+
+    @Param({"100000", "1000000"})
+    public int menuItems;
+
+    @Param({"p", "piz", "pizza marg", "rabb"})
+    public String query;
+
+    private CatalogSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        index = new CatalogSearchIndex();
+        index.addRestaurants(IntStream.range(0, menuItems / 100)
+                .mapToObj(i -> new RestaurantSummaryDTO(i + 1, name(random, 2) + " " + i, i + " " + name(random, 1) + " Road"))
+                .toList());
+        for (int from = 0; from < menuItems; from += 10_000) {
+            List<MenuItemSummaryDTO> batch = IntStream.range(from, Math.min(from + 10_000, menuItems))
+                    .mapToObj(i -> new MenuItemSummaryDTO(i + 1, name(random, 3), i % 500 + 1))
+                    .toList();
+            index.addMenuItems(batch);
+        }
+        System.out.printf("%nsearch index with %d documents: about %d MiB%n", index.size(),
+                index.memoryBytes() / (1024 * 1024));
+    }
+
+    @Benchmark
+    public List<SearchHitDTO> search() {
+        return index.search(query, null, 10);
+    }
+
+    @Benchmark
+    public List<SearchHitDTO> searchRestaurants() {
+        return index.search(query, SearchHitDTO.Type.RESTAURANT, 10);
+    }
+
+    private static String name(SplittableRandom random, int words) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                name.append(' ');
+            }
+            String word = WORDS[random.nextInt(WORDS.length)];
+            name.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        }
+        return name.toString();
+    }
+}
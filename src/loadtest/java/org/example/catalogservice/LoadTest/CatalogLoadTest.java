@@ -0,0 +1,267 @@
+package org.example.catalogservice.LoadTest;
+
+import com.sun.management.OperatingSystemMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.catalogservice.CatalogServiceApplication;
+import org.example.catalogservice.Config.CachingAuthenticationProvider;
+import org.example.catalogservice.DTO.RequestDTO;
+import org.example.catalogservice.Repositories.RestaurantMenuItemRepository;
+import org.example.catalogservice.Services.MenuItemService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+// Boots the service on an in-memory H2 database (PostgreSQL mode), seeds N restaurants with M menu items
+// each and sends a mixed read/admin workload at a fixed arrival rate, independent of response times.
+public class CatalogLoadTest {
+    private static final String ADMIN_AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+
+    private final LoadTestConfig config;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final AtomicLong adminSequence = new AtomicLong();
+    private String baseUrl;
+    private int[] restaurantIds;
+    private int[] menuItemIds;
+
+    CatalogLoadTest(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        try (ConfigurableApplicationContext context = start()) {
+            CatalogLoadTest loadTest = new CatalogLoadTest(config);
+            loadTest.seed(context);
+            System.out.println("warming up for " + config.warmup());
+            loadTest.run(config.warmup(), new LatencyReport());
+            System.out.println("measuring for " + config.duration() + " at " + config.rate() + " requests/s");
+            LatencyReport report = new LatencyReport();
+            CostSample before = CostSample.take(context);
+            loadTest.run(config.duration(), report);
+            CostSample.take(context).describeSince(before).forEach(report::note);
+            report.write(config);
+            System.out.println("report written to " + config.reportDir().toAbsolutePath());
+        }
+    }
+
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:catalog-loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///catalog-loadtest?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                "--spring.r2dbc.username=sa",
+                "--spring.r2dbc.password=",
+                "--spring.main.banner-mode=off",
+                "--server.port=0",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(CatalogServiceApplication.class).run(args.toArray(String[]::new));
+    }
+
+    // restaurant i owns menu items [i * M, (i + 1) * M) of the seeded items
+    void seed(ConfigurableApplicationContext context) {
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        int menuItems = config.restaurants() * config.menuItemsPerRestaurant();
+
+        context.getBean(MenuItemService.class).addMenuItems(IntStream.range(0, menuItems).mapToObj(i -> {
+            RequestDTO request = new RequestDTO();
+            request.setName("item-" + i);
+            request.setPrice(i % 500 + 1);
+            return request;
+        }).iterator());
+        jdbcTemplate.batchUpdate("insert into restaurants (name, address) values (?, ?)",
+                IntStream.range(0, config.restaurants())
+                        .mapToObj(i -> new Object[]{"restaurant-" + i, i + " Load Test Road"})
+                        .toList());
+
+        restaurantIds = jdbcTemplate.queryForList("select id from restaurants order by id", Integer.class)
+                .stream().mapToInt(Integer::intValue).toArray();
+        List<Integer> ids = jdbcTemplate.queryForList("select id from menu_items order by id", Integer.class);
+        menuItemIds = ids.stream().mapToInt(Integer::intValue).toArray();
+        RestaurantMenuItemRepository restaurantMenuItemRepository = context.getBean(RestaurantMenuItemRepository.class);
+        int m = config.menuItemsPerRestaurant();
+        for (int i = 0; i < restaurantIds.length; i++) {
+            restaurantMenuItemRepository.assignMenuItems(restaurantIds[i], ids.subList(i * m, (i + 1) * m));
+        }
+        System.out.println("seeded " + restaurantIds.length + " restaurants with " + m + " menu items each");
+    }
+
+    // open model: requests over max-in-flight are not sent but counted as errors at their intended start,
+    // so a stalled server shows up in the report instead of piling up futures on the client
+    private void run(Duration duration, LatencyReport report) throws InterruptedException {
+        long intervalNanos = 1_000_000_000L / config.rate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        AtomicLong inFlight = new AtomicLong();
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * intervalNanos;
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Request request = nextRequest();
+            if (inFlight.get() >= config.maxInFlight()) {
+                report.record(request.operation(), intendedStart, intendedStart, false);
+                continue;
+            }
+            inFlight.incrementAndGet();
+            client.sendAsync(request.httpRequest(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        report.record(request.operation(), intendedStart, System.nanoTime(), succeeded(response, error));
+                        inFlight.decrementAndGet();
+                    });
+        }
+        while (inFlight.get() > 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    // closed model: each client sends its next request as soon as the previous one completes,
+    // so this measures throughput at a given concurrency; returns the number of completed requests.
+    // The next request is sent from a dispatcher thread, not from the HttpClient's completion callback.
+    long runClients(int clients, Duration duration, LatencyReport report) throws InterruptedException {
+        long end = System.nanoTime() + duration.toNanos();
+        AtomicLong completed = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(clients);
+        ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int c = 0; c < clients; c++) {
+                sendNext(end, report, completed, done, dispatcher);
+            }
+            done.await();
+        } finally {
+            dispatcher.shutdownNow();
+        }
+        return completed.get();
+    }
+
+    private void sendNext(long end, LatencyReport report, AtomicLong completed, CountDownLatch done,
+                          ExecutorService dispatcher) {
+        long start = System.nanoTime();
+        if (start >= end) {
+            done.countDown();
+            return;
+        }
+        Request request = nextRequest();
+        client.sendAsync(request.httpRequest(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    report.record(request.operation(), start, System.nanoTime(), succeeded(response, error));
+                    completed.incrementAndGet();
+                    dispatcher.execute(() -> sendNext(end, report, completed, done, dispatcher));
+                });
+    }
+
+    private static boolean succeeded(HttpResponse<?> response, Throwable error) {
+        return error == null && (response.statusCode() / 100 == 2 || response.statusCode() == 304);
+    }
+
+    private Request nextRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int restaurant = random.nextInt(restaurantIds.length);
+        int restaurantId = restaurantIds[restaurant];
+        int roll = random.nextInt(100);
+        if (roll < config.adminPercent()) {
+            long n = adminSequence.incrementAndGet();
+            return n % 2 == 0
+                    ? admin("add-menu-item", "/menu-items", "{\"name\":\"loadtest-item-" + n + "\",\"price\":10}")
+                    : admin("add-restaurant", "/restaurants",
+                    "{\"name\":\"loadtest-restaurant-" + n + "\",\"address\":\"" + n + " Admin Street\"}");
+        }
+        int read = random.nextInt(100);
+        if (read < 20) {
+            return get("list-restaurants", "/restaurants?limit=20&after=" + (restaurantId - 1));
+        }
+        if (read < 65) {
+            return new Request("restaurant-menu", request("/restaurants/" + restaurantId + "/menu-items")
+                    .header("Accept-Encoding", "gzip")
+                    .GET()
+                    .build());
+        }
+        int m = config.menuItemsPerRestaurant();
+        int menuItemId = menuItemIds[restaurant * m + random.nextInt(m)];
+        return get("menu-item", "/restaurants/" + restaurantId + "/menu-items/" + menuItemId);
+    }
+
+    private Request get(String operation, String path) {
+        return new Request(operation, request(path).GET().build());
+    }
+
+    private Request admin(String operation, String path, String body) {
+        return new Request(operation, request(path)
+                .header("Authorization", ADMIN_AUTHORIZATION)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    private record Request(String operation, HttpRequest httpRequest) {
+    }
+
+    // CPU time of the whole process (client and server share it) and the admin credential checks,
+    // e.g. run with -Ploadtest.admin-percent=100 and CATALOG_SECURITY_CREDENTIALCACHE_TTL=PT0S to compare
+    // BCrypt on every request against the credential cache
+    private record CostSample(long requests, long cpuNanos, long credentialHits, long credentialMisses,
+                              long authenticationNanos) {
+
+        static CostSample take(ConfigurableApplicationContext context) {
+            CachingAuthenticationProvider credentials = context.getBean(CachingAuthenticationProvider.class);
+            OperatingSystemMXBean os = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+            return new CostSample(context.getBean(MeterRegistry.class).find("http.server.requests").timers().stream()
+                    .mapToLong(Timer::count).sum(),
+                    os.getProcessCpuTime(), credentials.getCacheHits(), credentials.getCacheMisses(),
+                    credentials.getCachedAuthenticationNanos() + credentials.getDelegatedAuthenticationNanos());
+        }
+
+        List<String> describeSince(CostSample before) {
+            long served = Math.max(requests - before.requests, 1);
+            long checks = Math.max(credentialHits + credentialMisses - before.credentialHits - before.credentialMisses, 1);
+            return List.of(
+                    String.format("process cpu %.3f ms per request over %d requests", millis(cpuNanos - before.cpuNanos) / served, served),
+                    String.format("admin credentials: %d cache hits, %d misses, %.3f ms per check",
+                            credentialHits - before.credentialHits, credentialMisses - before.credentialMisses,
+                            millis(authenticationNanos - before.authenticationNanos) / checks));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
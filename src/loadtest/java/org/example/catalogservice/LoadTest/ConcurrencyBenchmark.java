@@ -0,0 +1,62 @@
+package org.example.catalogservice.LoadTest;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Runs the load test workload with a fixed number of concurrent clients, once on Tomcat's platform
+// worker threads and, on Java 21, once on virtual threads with the DB admission gate, and writes
+// throughput and latency per run to concurrency.txt.
+public class ConcurrencyBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        int[] clientCounts = Arrays.stream(System.getProperty("loadtest.clients", "1000,10000").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+
+        List<Boolean> modes = new ArrayList<>(List.of(false));
+        if (Runtime.version().feature() >= 21) {
+            modes.add(true);
+        } else {
+            System.out.println("virtual threads need Java 21, run with -PjavaVersion=21 to compare both modes");
+        }
+
+        Files.createDirectories(config.reportDir());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(config.reportDir().resolve("concurrency.txt")))) {
+            out.println("# " + config + " java=" + Runtime.version().feature());
+            out.println("# closed model: latencies are per request, not corrected for coordinated omission");
+            for (boolean virtualThreads : modes) {
+                run(config, virtualThreads, clientCounts, out);
+            }
+        }
+        System.out.println("report written to " + config.reportDir().resolve("concurrency.txt").toAbsolutePath());
+    }
+
+    private static void run(LoadTestConfig config, boolean virtualThreads, int[] clientCounts, PrintStream out)
+            throws InterruptedException {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = CatalogLoadTest.start(
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.max-connections=20000",
+                "--server.tomcat.accept-count=2000")) {
+            CatalogLoadTest loadTest = new CatalogLoadTest(config);
+            loadTest.seed(context);
+            for (int clients : clientCounts) {
+                System.out.println(mode + " threads, " + clients + " clients");
+                loadTest.runClients(clients, config.warmup(), new LatencyReport());
+                LatencyReport report = new LatencyReport();
+                long completed = loadTest.runClients(clients, config.duration(), report);
+                out.printf("%n## %s threads, %d clients: %.1f requests/s%n",
+                        mode, clients, completed / (config.duration().toNanos() / 1e9));
+                report.printSummary(out);
+                out.flush();
+            }
+        }
+    }
+}
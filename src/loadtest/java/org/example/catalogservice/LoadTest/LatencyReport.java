@@ -0,0 +1,81 @@
+package org.example.catalogservice.LoadTest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies are measured from the moment a request was scheduled to start, not from when it was
+// actually sent, so time spent queued behind a stalled server is counted (no coordinated omission).
+class LatencyReport {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final String ALL = "all";
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final List<String> notes = new ArrayList<>();
+
+    void record(String operation, long intendedStartNanos, long endNanos, boolean success) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(endNanos - intendedStartNanos), HIGHEST_TRACKABLE_MICROS);
+        histogram(operation).recordValue(micros);
+        histogram(ALL).recordValue(micros);
+        if (!success) {
+            errors.computeIfAbsent(operation, name -> new LongAdder()).increment();
+            errors.computeIfAbsent(ALL, name -> new LongAdder()).increment();
+        }
+    }
+
+    // a line printed under the configuration in report.txt, e.g. CPU time per request
+    void note(String note) {
+        notes.add(note);
+    }
+
+    // report.txt is a stable, line-per-operation summary meant to be diffed between builds;
+    // the .hgrm files hold the full percentile distribution of each operation
+    void write(LoadTestConfig config) throws IOException {
+        Files.createDirectories(config.reportDir());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(config.reportDir().resolve("report.txt")))) {
+            out.println("# " + config);
+            notes.forEach(note -> out.println("# " + note));
+            printSummary(out);
+        }
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(config.reportDir().resolve(entry.getKey() + ".hgrm")))) {
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    void printSummary(PrintStream out) {
+        out.printf("%-24s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        new TreeMap<>(histograms).forEach((operation, histogram) -> out.printf("%-24s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                operation, histogram.getTotalCount(), errorCount(operation),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+    }
+
+    private Histogram histogram(String operation) {
+        return histograms.computeIfAbsent(operation, name -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+    }
+
+    private long errorCount(String operation) {
+        LongAdder count = errors.get(operation);
+        return count == null ? 0 : count.sum();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
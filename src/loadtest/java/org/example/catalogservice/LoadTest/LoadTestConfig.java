@@ -0,0 +1,33 @@
+package org.example.catalogservice.LoadTest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// read from -Dloadtest.* system properties, which the loadTest Gradle task forwards from -Ploadtest.*
+record LoadTestConfig(int restaurants, int menuItemsPerRestaurant, int rate, Duration warmup, Duration duration,
+                      int adminPercent, int maxInFlight, Path reportDir) {
+
+    static LoadTestConfig fromSystemProperties() {
+        LoadTestConfig config = new LoadTestConfig(
+                Integer.getInteger("loadtest.restaurants", 100),
+                Integer.getInteger("loadtest.menu-items", 200),
+                Integer.getInteger("loadtest.rate", 500),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT1M")),
+                Integer.getInteger("loadtest.admin-percent", 2),
+                Integer.getInteger("loadtest.max-in-flight", 1000),
+                Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest")));
+        if (config.restaurants <= 0 || config.menuItemsPerRestaurant <= 0 || config.rate <= 0
+                || config.adminPercent < 0 || config.adminPercent > 100 || config.maxInFlight <= 0) {
+            throw new IllegalArgumentException("invalid load test configuration: " + config);
+        }
+        return config;
+    }
+
+    @Override
+    public String toString() {
+        return "restaurants=" + restaurants + " menuItemsPerRestaurant=" + menuItemsPerRestaurant
+                + " rate=" + rate + "/s warmup=" + warmup + " duration=" + duration + " adminPercent=" + adminPercent
+                + " maxInFlight=" + maxInFlight;
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.catalogservice.Config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// Accept: application/cbor or application/x-jackson-smile gets the response in that format; both mappers start
+// from Boot's builder (prototype scoped, one per converter) so they carry the same modules and features as the
+// JSON one. They are added after the JSON converter rather than declared as beans, which Boot would put first,
+// so a request without an Accept header, or with */*, still gets JSON.
+@Configuration
+public class BinaryFormatsConfig implements WebMvcConfigurer {
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+    private final MeterRegistry registry;
+
+    public BinaryFormatsConfig(ObjectProvider<Jackson2ObjectMapperBuilder> builders, MeterRegistry registry) {
+        this.builders = builders;
+        this.registry = registry;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        int json = 0;
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                json = i + 1;
+            }
+        }
+        converters.addAll(json, List.of(
+                new TimedBinaryJacksonHttpMessageConverter(builders.getObject().factory(new CBORFactory()).build(),
+                        MediaType.APPLICATION_CBOR, "cbor", registry),
+                new TimedBinaryJacksonHttpMessageConverter(builders.getObject().factory(new SmileFactory()).build(),
+                        APPLICATION_SMILE, "smile", registry)));
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.catalogservice.Config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String RESTAURANTS = "restaurants";
+    public static final String MENU_ITEMS = "menuItems";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${catalog.cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${catalog.cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(RESTAURANTS, MENU_ITEMS);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats());
+        // only immutable summaries are cached, nothing evicts them; menus live in the revision-checked
+        // MenuSnapshotService instead
+        return cacheManager;
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.catalogservice.Config;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Remembers credentials the delegate has already verified, so repeated basic auth
+// requests skip the BCrypt check until the entry expires.
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+    private final AuthenticationProvider delegate;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final byte[] salt = new byte[16];
+    private final Map<String, VerifiedCredentials> verified = new ConcurrentHashMap<>();
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder cachedAuthenticationNanos = new LongAdder();
+    private final LongAdder delegatedAuthenticationNanos = new LongAdder();
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, Duration ttl, int maxEntries) {
+        this.delegate = delegate;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        new SecureRandom().nextBytes(salt);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        long start = System.nanoTime();
+        String key = digest(authentication.getName(), authentication.getCredentials());
+
+        VerifiedCredentials cached = verified.get(key);
+        if (cached != null && cached.expiresAt() - start > 0) {
+            cacheHits.increment();
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken
+                    .authenticated(cached.principal(), null, cached.authorities());
+            result.setDetails(authentication.getDetails());
+            cachedAuthenticationNanos.add(System.nanoTime() - start);
+            return result;
+        }
+
+        cacheMisses.increment();
+        try {
+            Authentication result = delegate.authenticate(authentication);
+            if (result != null && result.isAuthenticated()) {
+                remember(key, result, start);
+            }
+            return result;
+        } catch (AuthenticationException e) {
+            failures.increment();
+            throw e;
+        } finally {
+            delegatedAuthenticationNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public long getCachedAuthenticationNanos() {
+        return cachedAuthenticationNanos.sum();
+    }
+
+    public long getDelegatedAuthenticationNanos() {
+        return delegatedAuthenticationNanos.sum();
+    }
+
+    public int size() {
+        return verified.size();
+    }
+
+    private void remember(String key, Authentication result, long now) {
+        if (verified.size() >= maxEntries) {
+            verified.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+            if (verified.size() >= maxEntries) {
+                return;
+            }
+        }
+        verified.put(key, new VerifiedCredentials(result.getPrincipal(), result.getAuthorities(), now + ttlNanos));
+    }
+
+    private String digest(String username, Object credentials) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(salt);
+            sha256.update(String.valueOf(username).getBytes(StandardCharsets.UTF_8));
+            sha256.update((byte) ':');
+            sha256.update(String.valueOf(credentials).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record VerifiedCredentials(Object principal, Collection<? extends GrantedAuthority> authorities,
+                                       long expiresAt) {
+    }
+}
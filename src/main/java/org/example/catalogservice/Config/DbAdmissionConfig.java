@@ -0,0 +1,29 @@
+package org.example.catalogservice.Config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class DbAdmissionConfig {
+
+    // static so the post-processor is registered before the DataSource bean is created
+    @Bean
+    public static BeanPostProcessor dbAdmissionDataSourcePostProcessor(ObjectProvider<DbAdmissionGate> gate) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DbAdmissionDataSource)) {
+                    return new DbAdmissionDataSource(dataSource, gate.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
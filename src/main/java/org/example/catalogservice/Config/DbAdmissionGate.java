@@ -0,0 +1,59 @@
+package org.example.catalogservice.Config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.catalogservice.Exceptions.DatabaseBusyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// With virtual threads there is no worker pool left to bound concurrency, so thousands of requests
+// would otherwise queue inside Hikari and time out there. One permit is held per checked-out connection
+// (see DbAdmissionDataSource): as many as the pool has connections, a bounded number of callers wait in
+// FIFO order and the rest are turned away with a DatabaseBusyException, answered as 503.
+// Requests served from the caches never take a connection and so never wait here.
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class DbAdmissionGate implements MeterBinder {
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final int maxWaiting;
+
+    public DbAdmissionGate(@Value("${catalog.db-gate.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+                           @Value("${catalog.db-gate.acquire-timeout:PT2S}") Duration acquireTimeout,
+                           @Value("${catalog.db-gate.max-waiting:1000}") int maxWaiting) {
+        this.permits = new Semaphore(permits, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.maxWaiting = maxWaiting;
+    }
+
+    public void acquire() {
+        if (permits.getQueueLength() >= maxWaiting) {
+            throw new DatabaseBusyException("too many callers waiting for a database connection");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new DatabaseBusyException("no database connection freed up in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBusyException("interrupted while waiting for a database connection");
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.db.gate.available", permits, Semaphore::availablePermits).register(registry);
+        Gauge.builder("catalog.db.gate.waiting", permits, Semaphore::getQueueLength).register(registry);
+    }
+}
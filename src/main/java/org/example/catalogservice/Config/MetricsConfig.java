@@ -0,0 +1,54 @@
+package org.example.catalogservice.Config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.util.concurrent.TimeUnit;
+
+// Stage timers on top of what actuator already records: http.server.requests, spring.data.repository.invocations,
+// hibernate.* statistics, hikaricp.* pool metrics and cache.* for the Spring caches.
+@Configuration
+public class MetricsConfig {
+
+    // backs the class-level @Timed on services and JDBC repositories
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // replaces Boot's default Jackson converter, so JSON writing shows up as catalog.serialization
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MeterRegistry registry) {
+        return new TimedJackson2HttpMessageConverter(objectMapper, registry);
+    }
+
+    @Bean
+    public MeterBinder authenticationCacheMetrics(CachingAuthenticationProvider authenticationProvider) {
+        return registry -> {
+            FunctionTimer.builder("catalog.auth", authenticationProvider,
+                            CachingAuthenticationProvider::getCacheHits,
+                            CachingAuthenticationProvider::getCachedAuthenticationNanos, TimeUnit.NANOSECONDS)
+                    .tag("source", "cache")
+                    .register(registry);
+            FunctionTimer.builder("catalog.auth", authenticationProvider,
+                            CachingAuthenticationProvider::getCacheMisses,
+                            CachingAuthenticationProvider::getDelegatedAuthenticationNanos, TimeUnit.NANOSECONDS)
+                    .tag("source", "delegate")
+                    .register(registry);
+            FunctionCounter.builder("catalog.auth.failures", authenticationProvider,
+                            CachingAuthenticationProvider::getFailures)
+                    .register(registry);
+            Gauge.builder("catalog.auth.cache.size", authenticationProvider, CachingAuthenticationProvider::size)
+                    .register(registry);
+        };
+    }
+}
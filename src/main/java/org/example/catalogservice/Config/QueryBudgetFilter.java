@@ -0,0 +1,56 @@
+package org.example.catalogservice.Config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Records the statement count and database time of each request per route, and warns when a request
+// goes over its statement budget or repeats the same SQL often enough to look like an N+1
+@Component
+public class QueryBudgetFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final MeterRegistry registry;
+    private final int maxStatements;
+    private final int repeatThreshold;
+
+    public QueryBudgetFilter(MeterRegistry registry,
+                             @Value("${catalog.query-budget.max-statements:10}") int maxStatements,
+                             @Value("${catalog.query-budget.repeat-threshold:5}") int repeatThreshold) {
+        this.registry = registry;
+        this.maxStatements = maxStatements;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryStats stats = QueryCounter.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String route = pattern == null ? "UNKNOWN" : pattern.toString();
+            registry.summary("catalog.request.statements", "uri", route).record(stats.getStatements());
+            registry.timer("catalog.request.db.time", "uri", route).record(stats.getElapsedMillis(), TimeUnit.MILLISECONDS);
+            if (stats.getStatements() > maxStatements) {
+                log.warn("{} {} ran {} statements ({} ms in the database), budget is {}",
+                        request.getMethod(), route, stats.getStatements(), stats.getElapsedMillis(), maxStatements);
+            }
+            stats.getRepeatedStatements(repeatThreshold).forEach((sql, executions) ->
+                    log.warn("possible N+1 in {} {}: {} executed {} times", request.getMethod(), route, sql, executions));
+        }
+    }
+}
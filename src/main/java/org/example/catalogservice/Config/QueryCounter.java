@@ -0,0 +1,47 @@
+package org.example.catalogservice.Config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+// datasource-proxy listener that attributes every statement, whether issued by Hibernate or JdbcTemplate,
+// to the QueryStats of the calling thread; threads that never called start() are not tracked
+public class QueryCounter implements QueryExecutionListener {
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    public static void start() {
+        CURRENT.set(new QueryStats(CURRENT.get()));
+    }
+
+    // ends the innermost scope and returns its statistics
+    public static QueryStats stop() {
+        QueryStats stats = current();
+        if (stats.getParent() == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats.getParent());
+        }
+        return stats;
+    }
+
+    public static QueryStats current() {
+        QueryStats stats = CURRENT.get();
+        return stats == null ? new QueryStats(null) : stats;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    // a JDBC batch counts as one statement, since it is one round trip
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+            stats.record(sql, execInfo.getElapsedTime());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.catalogservice.Config;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// JDBC statements run by one thread between QueryCounter.start() and QueryCounter.stop();
+// counting scopes nest, so a test can wrap a request that the QueryBudgetFilter also counts
+public class QueryStats {
+    private final QueryStats parent;
+    private int statements;
+    private long elapsedMillis;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    QueryStats(QueryStats parent) {
+        this.parent = parent;
+    }
+
+    QueryStats getParent() {
+        return parent;
+    }
+
+    void record(String sql, long elapsedMillis) {
+        for (QueryStats stats = this; stats != null; stats = stats.parent) {
+            stats.statements++;
+            stats.elapsedMillis += elapsedMillis;
+            stats.executionsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    // the same SQL issued over and over within one request is the usual signature of an N+1 pattern
+    public Map<String, Integer> getRepeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executionsBySql.forEach((sql, executions) -> {
+            if (executions >= threshold) {
+                repeated.put(sql, executions);
+            }
+        });
+        return repeated;
+    }
+}
@@ -1,9 +1,11 @@
 package org.example.catalogservice.Config;
 
 import org.example.catalogservice.Exceptions.AdminAuthenticationFailedException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -16,6 +18,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -35,7 +39,10 @@ public class SecurityConfig {
                                         HttpMethod.GET,
                                         "/restaurants/**",
                                         "/menu-items/{menuItemId}/**",
-                                        "/restaurants/{restaurantId}/**"
+                                        "/restaurants/{restaurantId}/**",
+                                        "/reactive/restaurants/**",
+                                        "/changes",
+                                        "/search"
                                 ).permitAll()
                                 .requestMatchers(
                                         HttpMethod.POST,
@@ -56,21 +63,34 @@ public class SecurityConfig {
 
     @Bean
     public UserDetailsService userDetailsService() {
+        // hashed once at startup; each lookup hands out a copy because the
+        // authentication manager erases credentials on the returned principal
+        UserDetails admin = User.builder()
+                .username("admin")
+                .password(passwordEncoder().encode("password"))
+                .roles("ADMIN")
+                .build();
         return new UserDetailsService() {
             @Override
             public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
                 if (!"admin".equals(username)) {
                     throw new AdminAuthenticationFailedException("Username not found");
                 }
-                return User.builder()
-                        .username("admin")
-                        .password(passwordEncoder().encode("password"))
-                        .roles("ADMIN")
-                        .build();
+                return User.withUserDetails(admin).build();
             }
         };
     }
 
+    @Bean
+    public CachingAuthenticationProvider authenticationProvider(
+            @Value("${catalog.security.credential-cache.ttl:PT5M}") Duration ttl,
+            @Value("${catalog.security.credential-cache.max-entries:1000}") int maxEntries) {
+        DaoAuthenticationProvider delegate = new DaoAuthenticationProvider();
+        delegate.setUserDetailsService(userDetailsService());
+        delegate.setPasswordEncoder(passwordEncoder());
+        return new CachingAuthenticationProvider(delegate, ttl, maxEntries);
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -0,0 +1,26 @@
+package org.example.catalogservice.Config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+// catalog.serialization, shared by the JSON and binary converters so formats can be compared per endpoint
+final class SerializationTimer {
+
+    private SerializationTimer() {
+    }
+
+    static Timer timer(MeterRegistry registry, String format) {
+        return registry.timer("catalog.serialization", "uri", currentRoute(), "format", format);
+    }
+
+    // tagged with the matched route rather than the raw path
+    private static String currentRoute() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object pattern = attributes == null ? null
+                : attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.catalogservice.Config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// Binary Jackson format (CBOR, Smile) for the same DTOs as the JSON converter, chosen through the Accept header
+public class TimedBinaryJacksonHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+    private final MeterRegistry registry;
+    private final String format;
+
+    public TimedBinaryJacksonHttpMessageConverter(ObjectMapper objectMapper, MediaType mediaType, String format,
+                                                  MeterRegistry registry) {
+        super(objectMapper, mediaType);
+        this.format = format;
+        this.registry = registry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            sample.stop(SerializationTimer.timer(registry, format));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.catalogservice.Config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// Times JSON response writing per endpoint
+public class TimedJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    private final MeterRegistry registry;
+
+    public TimedJackson2HttpMessageConverter(ObjectMapper objectMapper, MeterRegistry registry) {
+        super(objectMapper);
+        this.registry = registry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            sample.stop(SerializationTimer.timer(registry, "json"));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.catalogservice.Config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+@Configuration
+public class TransactionConfig {
+
+    // the R2DBC starter registers a reactive transaction manager, which makes Boot back off from
+    // creating the JPA one; @Transactional and TransactionTemplate keep using this manager.
+    // The DataSource behind it is declared in DataSourceConfig for the same reason
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+}
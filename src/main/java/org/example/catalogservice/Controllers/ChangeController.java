@@ -0,0 +1,30 @@
+package org.example.catalogservice.Controllers;
+
+import org.example.catalogservice.DTO.CatalogChangeDTO;
+import org.example.catalogservice.DTO.ResponseDTO;
+import org.example.catalogservice.Services.CatalogChangeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@RequestMapping("/changes")
+public class ChangeController {
+    @Autowired
+    private CatalogChangeService catalogChangeService;
+
+    //    GET changes after the given sequence in commit order, holding the request for up to wait seconds
+    //    until there is one; pass the last sequence received as the next since
+    @GetMapping
+    public DeferredResult<ResponseDTO<List<CatalogChangeDTO>>> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                                         @RequestParam(defaultValue = "100") int limit,
+                                                                         @RequestParam(defaultValue = "30") long wait) {
+        return catalogChangeService.awaitChanges(since, limit, Duration.ofSeconds(wait));
+    }
+}
@@ -1,22 +1,34 @@
 package org.example.catalogservice.Controllers;
 
-import org.example.catalogservice.DTO.GETResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.catalogservice.DTO.BulkInsertResultDTO;
+import org.example.catalogservice.DTO.LookupResultDTO;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.PageResponseDTO;
 import org.example.catalogservice.DTO.RequestDTO;
 import org.example.catalogservice.DTO.ResponseDTO;
-import org.example.catalogservice.Models.MenuItem;
+import org.example.catalogservice.Exceptions.InvalidBulkRequestException;
 import org.example.catalogservice.Services.MenuItemService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/menu-items")
 public class MenuItemController {
     @Autowired
     private MenuItemService menuItemService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @PostMapping("")
     public ResponseEntity<Object> addMenuItem(@RequestBody RequestDTO requestDTO) {
@@ -24,19 +36,49 @@ public class MenuItemController {
         return ResponseEntity.ok(new ResponseDTO<>(HttpStatus.CREATED.value(), response));
     }
 
+    //    POST many menu items as a JSON array or NDJSON, read one item at a time; batches commit as they fill,
+    //    so a malformed element answers 400 with the result so far, the element reported against its row
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Object> addMenuItems(InputStream requestBody) throws IOException {
+        try (MenuItemRequestReader requests = new MenuItemRequestReader(objectMapper, requestBody)) {
+            BulkInsertResultDTO response = menuItemService.addMenuItems(requests);
+            HttpStatus status = response.isTruncated() ? HttpStatus.BAD_REQUEST : HttpStatus.OK;
+            return ResponseEntity.status(status).body(new ResponseDTO<>(status.value(), response));
+        } catch (JsonProcessingException e) {
+            throw new InvalidBulkRequestException("malformed bulk request: " + e.getOriginalMessage());
+        }
+    }
+
     @GetMapping("")
-    public ResponseEntity<Object> getAllMenuItems() {
-        List<MenuItem> menuItem = menuItemService.findAllMenuItems();
-        List<GETResponseDTO> GETResponseDTOS = menuItem.stream()
-                .map(menuItemService::convertToDto)
-                .toList();
-        return ResponseEntity.ok(new ResponseDTO<>(HttpStatus.OK.value(), GETResponseDTOS));
+    public ResponseEntity<Object> getAllMenuItems(@RequestParam(required = false) Integer after,
+                                                  @RequestParam(defaultValue = "100") int limit) {
+        List<MenuItemSummaryDTO> menuItems = menuItemService.findAllMenuItems(after, limit);
+        Integer nextCursor = menuItems.size() == limit ? menuItems.get(menuItems.size() - 1).id() : null;
+        return ResponseEntity.ok(new PageResponseDTO<>(HttpStatus.OK.value(), menuItems, nextCursor));
     }
 
+    //    GET several menu items in one query (?ids=3,1,2), one entry per requested id in request order,
+    //    with found=false for ids that do not exist
+    @GetMapping("/batch")
+    public ResponseEntity<Object> getMenuItemsByIds(@RequestParam List<Integer> ids) {
+        List<LookupResultDTO<MenuItemSummaryDTO>> menuItems = menuItemService.lookupSummaries(ids);
+        return ResponseEntity.ok(new ResponseDTO<>(HttpStatus.OK.value(), menuItems));
+    }
+
+    //    GET menu item by id, 304 when If-None-Match still matches its version
     @GetMapping("/{menuItemId}")
-    public ResponseEntity<Object> getMenuItemById(@PathVariable Integer menuItemId) {
-        MenuItem menuItem = menuItemService.findById(menuItemId);
-        GETResponseDTO GETResponseDTO = menuItemService.convertToDto(menuItem);
-        return ResponseEntity.ok(new ResponseDTO<>(HttpStatus.OK.value(), GETResponseDTO));
+    public ResponseEntity<Object> getMenuItemById(@PathVariable Integer menuItemId, WebRequest request) {
+        Optional<Long> version = menuItemService.findVersion(menuItemId);
+        if (version.isPresent() && request.checkNotModified(menuItemEtag(menuItemId, version.get()))) {
+            return null;
+        }
+        MenuItemSummaryDTO response = menuItemService.findSummaryById(menuItemId);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        version.ifPresent(current -> ok.eTag(menuItemEtag(menuItemId, current)));
+        return ok.body(new ResponseDTO<>(HttpStatus.OK.value(), response));
+    }
+
+    static String menuItemEtag(Integer menuItemId, long version) {
+        return "\"menu-item-" + menuItemId + "-v" + version + "\"";
     }
 }
@@ -0,0 +1,56 @@
+package org.example.catalogservice.Controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.catalogservice.DTO.RequestDTO;
+import org.example.catalogservice.Exceptions.MalformedBulkRowException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+// Reads menu items from a JSON array or NDJSON body one element at a time with the application's ObjectMapper.
+// An element that cannot be parsed ends the stream with a MalformedBulkRowException.
+class MenuItemRequestReader implements Iterator<RequestDTO>, Closeable {
+    private final MappingIterator<RequestDTO> requests;
+
+    MenuItemRequestReader(ObjectMapper objectMapper, InputStream requestBody) throws IOException {
+        this.requests = objectMapper.readerFor(RequestDTO.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValues(requestBody);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return requests.hasNext();
+        } catch (RuntimeException e) {
+            throw malformed(e);
+        }
+    }
+
+    @Override
+    public RequestDTO next() {
+        try {
+            return requests.next();
+        } catch (RuntimeException e) {
+            throw malformed(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        requests.close();
+    }
+
+    // MappingIterator wraps parse and mapping failures in unchecked exceptions, anything else is passed on
+    private static RuntimeException malformed(RuntimeException e) {
+        if (e.getCause() instanceof JsonProcessingException cause) {
+            return new MalformedBulkRowException("malformed menu item: " + cause.getOriginalMessage());
+        }
+        return e;
+    }
+}
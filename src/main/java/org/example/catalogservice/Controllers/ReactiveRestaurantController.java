@@ -0,0 +1,49 @@
+package org.example.catalogservice.Controllers;
+
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.ResponseDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.Services.ReactiveCatalogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Read-only mirror of RestaurantController's GET endpoints on top of R2DBC. Lists are streamed as
+// NDJSON, one element per line, written as the database produces them; the request thread is
+// released while the query runs, so fan-out callers don't tie up a worker per call.
+@RestController
+@RequestMapping("/reactive/restaurants")
+public class ReactiveRestaurantController {
+    @Autowired
+    private ReactiveCatalogService reactiveCatalogService;
+
+    //    GET restaurants after the given id, streamed
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<RestaurantSummaryDTO>>> getAllRestaurant(
+            @RequestParam(required = false) Integer after, @RequestParam(defaultValue = "100") int limit) {
+        return reactiveCatalogService.findAllRestaurants(after, limit).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{restaurantId}")
+    public Mono<ResponseDTO<RestaurantSummaryDTO>> getRestaurantById(@PathVariable Integer restaurantId) {
+        return reactiveCatalogService.findById(restaurantId)
+                .map(restaurant -> new ResponseDTO<>(HttpStatus.OK.value(), restaurant));
+    }
+
+    //    GET the whole menu of a restaurant, streamed
+    @GetMapping(value = "/{restaurantId}/menu-items", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<MenuItemSummaryDTO>>> getAllMenuItems(@PathVariable Integer restaurantId) {
+        return reactiveCatalogService.getAllMenuItemsByRestaurantId(restaurantId).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{restaurantId}/menu-items/{menuItemId}")
+    public Mono<ResponseDTO<MenuItemSummaryDTO>> getMenuItems(@PathVariable Integer restaurantId,
+                                                             @PathVariable Integer menuItemId) {
+        return reactiveCatalogService.getSelectedMenuItemByRestaurantId(restaurantId, menuItemId)
+                .map(menuItem -> new ResponseDTO<>(HttpStatus.OK.value(), menuItem));
+    }
+}
@@ -1,17 +1,38 @@
 package org.example.catalogservice.Controllers;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.example.catalogservice.Config.BinaryFormatsConfig;
+import org.example.catalogservice.DTO.BulkInsertResultDTO;
+import org.example.catalogservice.DTO.LookupResultDTO;
 import org.example.catalogservice.DTO.RequestDTO;
+import org.example.catalogservice.DTO.ResponseSnapshotDTO;
 import org.example.catalogservice.DTO.ResponseDTO;
-import org.example.catalogservice.DTO.GETResponseDTO;
+import org.example.catalogservice.DTO.MenuSnapshotDTO;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.MenuQueryDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.Exceptions.InvalidBulkRequestException;
 import org.example.catalogservice.Models.MenuItem;
-import org.example.catalogservice.Models.Restaurant;
+import org.example.catalogservice.Services.CatalogExportService;
+import org.example.catalogservice.Services.MenuSnapshotService;
+import org.example.catalogservice.Services.RestaurantPageSnapshotService;
 import org.example.catalogservice.Services.RestaurantService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
 
 @RestController
@@ -19,6 +40,12 @@ import java.util.List;
 public class RestaurantController {
     @Autowired
     private RestaurantService restaurantService;
+    @Autowired
+    private MenuSnapshotService menuSnapshotService;
+    @Autowired
+    private CatalogExportService catalogExportService;
+    @Autowired
+    private RestaurantPageSnapshotService restaurantPageSnapshotService;
 
     //    POST restaurant
     @PostMapping
@@ -27,22 +54,66 @@ public class RestaurantController {
         return ResponseEntity.ok(new ResponseDTO<>(HttpStatus.CREATED.value(), response));
     }
 
-    //    GET all restaurants
+    //    POST many restaurants as a JSON array or NDJSON, parsed incrementally; batches commit as they fill,
+    //    so a malformed element answers 400 with the result so far, the element reported against its row
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Object> addRestaurants(InputStream requestBody) throws IOException {
+        try (RestaurantRequestReader requests = new RestaurantRequestReader(requestBody)) {
+            BulkInsertResultDTO response = restaurantService.addRestaurants(requests);
+            HttpStatus status = response.isTruncated() ? HttpStatus.BAD_REQUEST : HttpStatus.OK;
+            return ResponseEntity.status(status).body(new ResponseDTO<>(status.value(), response));
+        } catch (JsonProcessingException e) {
+            throw new InvalidBulkRequestException("malformed bulk request: " + e.getOriginalMessage());
+        }
+    }
+
+    //    GET all restaurants, one keyset page at a time (?after=<last seen id>&limit=); JSON pages are served
+    //    from cached bytes, gzipped once when large enough rather than on every request
     @GetMapping
-    public ResponseEntity<Object> getAllRestaurant() {
-        List<Restaurant> restaurants = restaurantService.findAllRestaurants();
-        List<GETResponseDTO> response = restaurants.stream()
-                .map(restaurantService::convertToDtoRestaurant)
-                .toList();
-        return ResponseEntity.ok(new ResponseDTO<>(HttpStatus.OK.value(), response));
+    public ResponseEntity<Object> getAllRestaurant(@RequestParam(required = false) Integer after,
+                                                   @RequestParam(defaultValue = "100") int limit,
+                                                   @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                   @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        MediaType binaryType = preferredBinaryType(accept);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (binaryType != null) {
+            return response.contentType(binaryType).body(restaurantPageSnapshotService.findPage(after, limit));
+        }
+        ResponseSnapshotDTO page = restaurantPageSnapshotService.getPage(after, limit);
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (acceptsGzip(acceptEncoding) && page.gzip() != null) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(page.gzip());
+        }
+        return response.body(page.json());
     }
 
-    //    GET restaurant by id
+    //    GET the whole catalog as NDJSON, one restaurant with its menu per line, streamed from a database cursor;
+    //    an interrupted export resumes with ?after=<id of the last complete line>
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCatalog(@RequestParam(required = false) Integer after) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> catalogExportService.exportCatalog(after, out));
+    }
+
+    //    GET several restaurants in one query (?ids=3,1,2), in request order with found=false for unknown ids
+    @GetMapping("/batch")
+    public ResponseEntity<Object> getRestaurantsByIds(@RequestParam List<Integer> ids) {
+        List<LookupResultDTO<RestaurantSummaryDTO>> restaurants = restaurantService.lookupSummaries(ids);
+        return ResponseEntity.ok(new ResponseDTO<>(HttpStatus.OK.value(), restaurants));
+    }
+
+    //    GET restaurant by id, 304 when If-None-Match still matches its version
     @GetMapping("/{restaurantId}")
-    public ResponseEntity<Object> getRestaurantById(@PathVariable Integer restaurantId) {
-        Restaurant restaurant = restaurantService.findById(restaurantId);
-        GETResponseDTO response = restaurantService.convertToDtoRestaurant(restaurant);
-        return ResponseEntity.ok(new ResponseDTO<>(HttpStatus.OK.value(), response));
+    public ResponseEntity<Object> getRestaurantById(@PathVariable Integer restaurantId, WebRequest request) {
+        Optional<Long> version = restaurantService.findVersion(restaurantId);
+        if (version.isPresent() && request.checkNotModified(restaurantEtag(restaurantId, version.get()))) {
+            return null;
+        }
+        RestaurantSummaryDTO response = restaurantService.findSummaryById(restaurantId);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        version.ifPresent(current -> ok.eTag(restaurantEtag(restaurantId, current)));
+        return ok.body(new ResponseDTO<>(HttpStatus.OK.value(), response));
     }
 
     //    POST assign menu items to respective restaurant
@@ -52,17 +123,97 @@ public class RestaurantController {
         return ResponseEntity.ok(new ResponseDTO<>(HttpStatus.OK.value(), response));
     }
 
-    //    GET menu items of respective restaurant
+    //    GET menu items of respective restaurant, written straight from the pre-serialized snapshot;
+    //    the ETag carries the menu revision, so an unchanged menu whose snapshot is current costs one lookup and a 304.
+    //    CBOR and Smile are encoded from the snapshot's items, without going back to the database.
+    //    minPrice, maxPrice, sort=price or limit select part of the menu instead, e.g. the 10 cheapest items
     @GetMapping("/{restaurantId}/menu-items")
-    public ResponseEntity<Object> getAllMenuItems(@PathVariable Integer restaurantId) {
-        List<MenuItem> response = restaurantService.getAllMenuItemsByRestaurantId(restaurantId);
-        return ResponseEntity.ok(new ResponseDTO<>(HttpStatus.OK.value(), response));
+    public ResponseEntity<Object> getAllMenuItems(@PathVariable Integer restaurantId,
+                                                  @RequestParam(required = false) Integer minPrice,
+                                                  @RequestParam(required = false) Integer maxPrice,
+                                                  @RequestParam(required = false) String sort,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                  WebRequest request) {
+        if (minPrice != null || maxPrice != null || sort != null || limit != null) {
+            List<MenuItemSummaryDTO> menuItems = menuSnapshotService.findMenuItems(restaurantId,
+                    MenuQueryDTO.of(minPrice, maxPrice, sort, limit));
+            return ResponseEntity.ok(new ResponseDTO<>(HttpStatus.OK.value(), menuItems));
+        }
+        MediaType binaryType = preferredBinaryType(accept);
+        Optional<Long> menuRevision = restaurantService.findMenuRevision(restaurantId);
+        MenuSnapshotDTO snapshot = menuSnapshotService.getSnapshot(restaurantId, menuRevision.orElse(0L));
+        // menus below the compression threshold have no gzip bytes and go out as is, under the plain ETag
+        boolean gzip = binaryType == null && snapshot.gzip() != null && acceptsGzip(acceptEncoding);
+        String variant = binaryType != null ? "-" + binaryType.getSubtype() : gzip ? "-gzip" : "";
+        String etag = menuEtag(restaurantId, snapshot.revision(), variant);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (binaryType != null) {
+            return response.contentType(binaryType).body(new ResponseDTO<>(HttpStatus.OK.value(), snapshot.items()));
+        }
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
     }
 
     @GetMapping("/{restaurantId}/menu-items/{menuItemId}")
-    public ResponseEntity<Object> getMenuItems(@PathVariable Integer restaurantId, @PathVariable Integer menuItemId) {
+    public ResponseEntity<Object> getMenuItems(@PathVariable Integer restaurantId, @PathVariable Integer menuItemId,
+                                               WebRequest request) {
+        Optional<Long> version = restaurantService.findMenuItemVersion(restaurantId, menuItemId);
+        if (version.isPresent() && request.checkNotModified(MenuItemController.menuItemEtag(menuItemId, version.get()))) {
+            return null;
+        }
         MenuItem menuItem = restaurantService.getSelectedMenuItemByRestaurantId(restaurantId, menuItemId);
-        GETResponseDTO response = restaurantService.convertToDtoMenuItem(menuItem);
-        return ResponseEntity.ok(new ResponseDTO<>(HttpStatus.OK.value(), response));
+        MenuItemSummaryDTO response = new MenuItemSummaryDTO(menuItem.getId(), menuItem.getName(), menuItem.getPrice());
+        return ResponseEntity.ok()
+                .eTag(MenuItemController.menuItemEtag(menuItemId, menuItem.getVersion()))
+                .body(new ResponseDTO<>(HttpStatus.OK.value(), response));
+    }
+
+    private static String restaurantEtag(Integer restaurantId, long version) {
+        return "\"restaurant-" + restaurantId + "-v" + version + "\"";
+    }
+
+    // each encoding (gzip, cbor, x-jackson-smile) is a different representation, so it gets its own strong ETag
+    private static String menuEtag(Integer restaurantId, long menuRevision, String variant) {
+        return "\"menu-" + restaurantId + "-r" + menuRevision + variant + "\"";
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+
+    // the binary format the client ranks above JSON, or null when JSON (or anything, */*) comes first
+    private static MediaType preferredBinaryType(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return null;
+        }
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        acceptedTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType acceptedType : acceptedTypes) {
+            if (acceptedType.includes(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+            if (acceptedType.includes(MediaType.APPLICATION_CBOR)) {
+                return MediaType.APPLICATION_CBOR;
+            }
+            if (acceptedType.includes(BinaryFormatsConfig.APPLICATION_SMILE)) {
+                return BinaryFormatsConfig.APPLICATION_SMILE;
+            }
+        }
+        return null;
     }
-}
\ No newline at end of file
+}
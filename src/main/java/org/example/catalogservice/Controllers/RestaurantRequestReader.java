@@ -0,0 +1,102 @@
+package org.example.catalogservice.Controllers;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import org.example.catalogservice.DTO.RequestDTO;
+import org.example.catalogservice.Exceptions.MalformedBulkRowException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Pulls restaurants out of a JSON array or NDJSON body token by token, so only
+// the object being read is ever held in memory. An element that cannot be parsed
+// ends the stream with a MalformedBulkRowException.
+class RestaurantRequestReader implements Iterator<RequestDTO>, Closeable {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private final boolean array;
+    private JsonToken current;
+    // the token after an element is only read when the next one is asked for,
+    // so a parse error is reported against the element it belongs to
+    private boolean advance;
+
+    RestaurantRequestReader(InputStream requestBody) throws IOException {
+        this.parser = JSON_FACTORY.createParser(requestBody);
+        JsonToken first = parser.nextToken();
+        this.array = first == JsonToken.START_ARRAY;
+        this.current = array ? parser.nextToken() : first;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (advance) {
+            current = nextToken();
+            advance = false;
+        }
+        if (current == null || (array && current == JsonToken.END_ARRAY)) {
+            return false;
+        }
+        if (current != JsonToken.START_OBJECT) {
+            throw new MalformedBulkRowException("malformed restaurant: expected an object but found " + current);
+        }
+        return true;
+    }
+
+    @Override
+    public RequestDTO next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            RequestDTO request = new RequestDTO();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "name" -> request.setName(readText(value));
+                    case "address" -> request.setAddress(readText(value));
+                    default -> parser.skipChildren();
+                }
+            }
+            advance = true;
+            return request;
+        } catch (JsonProcessingException e) {
+            throw new MalformedBulkRowException("malformed restaurant: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private JsonToken nextToken() {
+        try {
+            return parser.nextToken();
+        } catch (JsonProcessingException e) {
+            throw new MalformedBulkRowException("malformed restaurant: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String readText(JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value.isScalarValue()) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.catalogservice.Controllers;
+
+import org.example.catalogservice.DTO.ResponseDTO;
+import org.example.catalogservice.DTO.SearchHitDTO;
+import org.example.catalogservice.Services.CatalogSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/search")
+public class SearchController {
+    @Autowired
+    private CatalogSearchService catalogSearchService;
+
+    //    GET restaurants and menu items whose names (or restaurant addresses) match q, best matches first;
+    //    every word of q has to match the start of a word, words of three or more letters also match inside one.
+    //    type=RESTAURANT or type=MENU_ITEM narrows the results to one kind
+    @GetMapping
+    public ResponseEntity<Object> search(@RequestParam String q,
+                                         @RequestParam(required = false) SearchHitDTO.Type type,
+                                         @RequestParam(defaultValue = "10") int limit) {
+        List<SearchHitDTO> hits = catalogSearchService.search(q, type, limit);
+        return ResponseEntity.ok(new ResponseDTO<>(HttpStatus.OK.value(), hits));
+    }
+}
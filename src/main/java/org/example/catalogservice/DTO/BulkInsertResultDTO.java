@@ -0,0 +1,29 @@
+package org.example.catalogservice.DTO;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkInsertResultDTO {
+    private int received;
+    private int created;
+    private final List<BulkRowErrorDTO> rejected = new ArrayList<>();
+    // set when the payload could not be read past a malformed row: the rows before it were processed
+    // (and counted in created), nothing after it was read
+    private boolean truncated;
+
+    public void addCreated(int count) {
+        this.created += count;
+    }
+
+    public void reject(int row, String reason) {
+        rejected.add(new BulkRowErrorDTO(row, reason));
+    }
+
+    public void truncate(int row, String reason) {
+        reject(row, reason);
+        truncated = true;
+    }
+}
@@ -0,0 +1,4 @@
+package org.example.catalogservice.DTO;
+
+public record BulkRowErrorDTO(int row, String reason) {
+}
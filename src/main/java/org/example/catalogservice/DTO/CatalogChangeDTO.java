@@ -0,0 +1,10 @@
+package org.example.catalogservice.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.example.catalogservice.Models.CatalogChange;
+
+import java.time.Instant;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CatalogChangeDTO(long sequence, CatalogChange.ChangeType type, int id, Long revision, Instant createdAt) {
+}
@@ -0,0 +1,12 @@
+package org.example.catalogservice.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// one entry of a batch lookup; ids that match nothing come back with found=false and no data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LookupResultDTO<T>(int id, boolean found, T data) {
+
+    public static <T> LookupResultDTO<T> of(int id, T data) {
+        return new LookupResultDTO<>(id, data != null, data);
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.catalogservice.DTO;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+@JsonSerialize(using = MenuItemSummaryDTO.Serializer.class)
+public record MenuItemSummaryDTO(Integer id, String name, int price) {
+
+    // menus and list pages write thousands of these per response, so the fields are written
+    // directly with pre-encoded names instead of going through the bean serializer
+    public static class Serializer extends StdSerializer<MenuItemSummaryDTO> {
+        private static final SerializableString ID = new SerializedString("id");
+        private static final SerializableString NAME = new SerializedString("name");
+        private static final SerializableString PRICE = new SerializedString("price");
+
+        public Serializer() {
+            super(MenuItemSummaryDTO.class);
+        }
+
+        @Override
+        public void serialize(MenuItemSummaryDTO item, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(item);
+            gen.writeFieldName(ID);
+            if (item.id() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(item.id());
+            }
+            gen.writeFieldName(NAME);
+            gen.writeString(item.name());
+            gen.writeFieldName(PRICE);
+            gen.writeNumber(item.price());
+            gen.writeEndObject();
+        }
+    }
+}
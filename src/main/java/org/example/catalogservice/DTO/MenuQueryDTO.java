@@ -0,0 +1,27 @@
+package org.example.catalogservice.DTO;
+
+import org.example.catalogservice.Exceptions.InvalidPageRequestException;
+
+// filters for GET /restaurants/{restaurantId}/menu-items: a price range, both ends included,
+// and at most limit items, cheapest first when sorted by price and by id otherwise
+public record MenuQueryDTO(int minPrice, int maxPrice, boolean sortByPrice, int limit) {
+    public static final int MAX_LIMIT = 1000;
+    private static final int DEFAULT_LIMIT = 100;
+
+    public MenuQueryDTO {
+        if (minPrice < 0 || minPrice > maxPrice) {
+            throw new InvalidPageRequestException("minPrice must be between 0 and maxPrice");
+        }
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new InvalidPageRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    public static MenuQueryDTO of(Integer minPrice, Integer maxPrice, String sort, Integer limit) {
+        if (sort != null && !sort.equals("price")) {
+            throw new InvalidPageRequestException("menu items can only be sorted by price");
+        }
+        return new MenuQueryDTO(minPrice == null ? 0 : minPrice, maxPrice == null ? Integer.MAX_VALUE : maxPrice,
+                sort != null, limit == null ? DEFAULT_LIMIT : limit);
+    }
+}
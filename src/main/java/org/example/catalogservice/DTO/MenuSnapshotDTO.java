@@ -0,0 +1,54 @@
+package org.example.catalogservice.DTO;
+
+import java.util.Comparator;
+import java.util.List;
+
+public record MenuSnapshotDTO(long revision, List<MenuItemSummaryDTO> items, byte[] json, byte[] gzip,
+                              PriceIndex prices) {
+
+    public MenuSnapshotDTO(long revision, List<MenuItemSummaryDTO> items, byte[] json, byte[] gzip) {
+        this(revision, items, json, gzip, PriceIndex.of(items));
+    }
+
+    public int size() {
+        return json.length + (gzip == null ? 0 : gzip.length) + prices.size();
+    }
+
+    // the menu ordered by (price, id), with the prices copied into an int array for binary search
+    public record PriceIndex(List<MenuItemSummaryDTO> byPrice, int[] prices) {
+
+        static PriceIndex of(List<MenuItemSummaryDTO> items) {
+            List<MenuItemSummaryDTO> byPrice = items.stream()
+                    .sorted(Comparator.comparingInt(MenuItemSummaryDTO::price).thenComparing(MenuItemSummaryDTO::id))
+                    .toList();
+            int[] prices = new int[byPrice.size()];
+            for (int i = 0; i < prices.length; i++) {
+                prices[i] = byPrice.get(i).price();
+            }
+            return new PriceIndex(byPrice, prices);
+        }
+
+        // items priced from minPrice to maxPrice, both included, cheapest first
+        public List<MenuItemSummaryDTO> range(int minPrice, int maxPrice) {
+            return byPrice.subList(firstAbove(minPrice - 1L), firstAbove(maxPrice));
+        }
+
+        private int firstAbove(long price) {
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (prices[middle] <= price) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        int size() {
+            return 8 * prices.length;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.catalogservice.DTO;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class PageResponseDTO<T> extends ResponseDTO<List<T>> {
+    private final Integer nextCursor;
+
+    public PageResponseDTO(int statusCode, List<T> data, Integer nextCursor) {
+        super(statusCode, data);
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.catalogservice.DTO;
+
+// a serialized response kept for reuse, gzip is null when compression is off or the body is below the threshold
+public record ResponseSnapshotDTO(byte[] json, byte[] gzip) {
+    public int size() {
+        return json.length + (gzip == null ? 0 : gzip.length);
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.catalogservice.DTO;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+@JsonSerialize(using = RestaurantSummaryDTO.Serializer.class)
+public record RestaurantSummaryDTO(Integer id, String name, String address) {
+
+    // written field by field like MenuItemSummaryDTO, for the restaurant list pages
+    public static class Serializer extends StdSerializer<RestaurantSummaryDTO> {
+        private static final SerializableString ID = new SerializedString("id");
+        private static final SerializableString NAME = new SerializedString("name");
+        private static final SerializableString ADDRESS = new SerializedString("address");
+
+        public Serializer() {
+            super(RestaurantSummaryDTO.class);
+        }
+
+        @Override
+        public void serialize(RestaurantSummaryDTO restaurant, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(restaurant);
+            gen.writeFieldName(ID);
+            if (restaurant.id() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(restaurant.id());
+            }
+            gen.writeFieldName(NAME);
+            gen.writeString(restaurant.name());
+            gen.writeFieldName(ADDRESS);
+            gen.writeString(restaurant.address());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.catalogservice.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// address is only set for restaurants and price only for menu items
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SearchHitDTO(Type type, int id, String name, String address, Integer price) {
+
+    public enum Type {
+        RESTAURANT,
+        MENU_ITEM
+    }
+
+    public static SearchHitDTO of(RestaurantSummaryDTO restaurant) {
+        return new SearchHitDTO(Type.RESTAURANT, restaurant.id(), restaurant.name(), restaurant.address(), null);
+    }
+
+    public static SearchHitDTO of(MenuItemSummaryDTO menuItem) {
+        return new SearchHitDTO(Type.MENU_ITEM, menuItem.id(), menuItem.name(), null, menuItem.price());
+    }
+}
@@ -0,0 +1,6 @@
+package org.example.catalogservice.Events;
+
+import org.example.catalogservice.Models.CatalogChange;
+
+public record CatalogChangesRecordedEvent(CatalogChange.ChangeType type) {
+}
@@ -0,0 +1,8 @@
+package org.example.catalogservice.Events;
+
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+
+import java.util.List;
+
+public record MenuItemsCreatedEvent(List<MenuItemSummaryDTO> menuItems) {
+}
@@ -0,0 +1,8 @@
+package org.example.catalogservice.Events;
+
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+
+import java.util.List;
+
+public record RestaurantsCreatedEvent(List<RestaurantSummaryDTO> restaurants) {
+}
@@ -1,6 +1,7 @@
 package org.example.catalogservice.Exceptions;
 
 import org.example.catalogservice.DTO.ResponseDTO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -49,4 +50,36 @@ public class CustomExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT)
                 .body(new ResponseDTO<>(HttpStatus.CONFLICT.value(), e.getMessage()));
     }
+
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<ResponseDTO<String>> handleInvalidPageRequestException(InvalidPageRequestException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ResponseDTO<>(HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidBulkRequestException.class)
+    public ResponseEntity<ResponseDTO<String>> handleInvalidBulkRequestException(InvalidBulkRequestException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ResponseDTO<>(HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+    }
+
+    @ExceptionHandler(MalformedBulkRowException.class)
+    public ResponseEntity<ResponseDTO<String>> handleMalformedBulkRowException(MalformedBulkRowException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ResponseDTO<>(HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidSearchRequestException.class)
+    public ResponseEntity<ResponseDTO<String>> handleInvalidSearchRequestException(InvalidSearchRequestException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ResponseDTO<>(HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+    }
+
+    // also matched when the JPA or JDBC layer wraps it, e.g. in a CannotCreateTransactionException
+    @ExceptionHandler(DatabaseBusyException.class)
+    public ResponseEntity<ResponseDTO<String>> handleDatabaseBusyException(DatabaseBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ResponseDTO<>(HttpStatus.SERVICE_UNAVAILABLE.value(), "service busy, retry later"));
+    }
 }
@@ -0,0 +1,7 @@
+package org.example.catalogservice.Exceptions;
+
+public class DatabaseBusyException extends RuntimeException {
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.catalogservice.Exceptions;
+
+public class InvalidBulkRequestException extends RuntimeException {
+    public InvalidBulkRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.catalogservice.Exceptions;
+
+public class InvalidPageRequestException extends RuntimeException {
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
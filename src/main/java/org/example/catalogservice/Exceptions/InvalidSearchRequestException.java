@@ -0,0 +1,7 @@
+package org.example.catalogservice.Exceptions;
+
+public class InvalidSearchRequestException extends RuntimeException {
+    public InvalidSearchRequestException(String message) {
+        super(message);
+    }
+}
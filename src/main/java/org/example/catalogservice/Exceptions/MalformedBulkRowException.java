@@ -0,0 +1,9 @@
+package org.example.catalogservice.Exceptions;
+
+// Thrown while reading a bulk payload when an element cannot be parsed. Rows before it may already be committed,
+// so the bulk services report it against the row instead of failing the whole request.
+public class MalformedBulkRowException extends RuntimeException {
+    public MalformedBulkRowException(String message) {
+        super(message);
+    }
+}
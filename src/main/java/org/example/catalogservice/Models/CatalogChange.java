@@ -0,0 +1,50 @@
+package org.example.catalogservice.Models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+// Append-only change log, written in the same transaction as the change it describes (transactional outbox).
+// The id is the feed sequence consumers resume from.
+@Entity
+@Table(name = "catalog_changes")
+@Getter
+public class CatalogChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // a plain varchar(32) column; without the type code Hibernate expects a native enum column on H2 and fails validation
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "change_type", nullable = false, length = 32)
+    private ChangeType type;
+
+    @Column(name = "entity_id", nullable = false)
+    private int entityId;
+
+    // menu revision after a MENU_CHANGED, null otherwise
+    private Long revision;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public CatalogChange(ChangeType type, int entityId, Long revision) {
+        this.type = type;
+        this.entityId = entityId;
+        this.revision = revision;
+        this.createdAt = Instant.now();
+    }
+
+    public CatalogChange() {
+    }
+
+    public enum ChangeType {
+        RESTAURANT_CREATED,
+        MENU_ITEM_CREATED,
+        MENU_CHANGED
+    }
+}
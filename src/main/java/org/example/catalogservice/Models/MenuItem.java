@@ -3,6 +3,7 @@ package org.example.catalogservice.Models;
 import jakarta.persistence.*;
 import lombok.Getter;
 import org.example.catalogservice.Exceptions.CannotCreateMenuItemException;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.Id;
 
 @Entity
@@ -13,11 +14,16 @@ import org.springframework.data.annotation.Id;
 public class MenuItem {
     @jakarta.persistence.Id
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_items_seq")
+    @SequenceGenerator(name = "menu_items_seq", sequenceName = "menu_items_seq", allocationSize = 50)
     private Integer id;
     private String name;
     private int price;
 
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
     public MenuItem(String name, int price) {
         if (name == null || name.isEmpty() || price <= 0) {
             throw new CannotCreateMenuItemException("name cannot be null or empty and price cannot be less than or equal to 0");
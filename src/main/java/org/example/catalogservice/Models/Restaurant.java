@@ -3,6 +3,7 @@ package org.example.catalogservice.Models;
 import jakarta.persistence.*;
 import lombok.Getter;
 import org.example.catalogservice.Exceptions.CannotCreateRestaurantException;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,6 +20,15 @@ public class Restaurant {
     private String name;
     private String address;
 
+    // bumped whenever the restaurant's menu changes; version covers the restaurant row itself
+    @Column(name = "menu_revision", nullable = false)
+    @ColumnDefault("0")
+    private long menuRevision;
+
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
     @ManyToMany
     @JoinTable(
             name = "restaurant_menu_items",
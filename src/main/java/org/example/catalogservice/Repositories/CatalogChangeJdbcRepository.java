@@ -0,0 +1,32 @@
+package org.example.catalogservice.Repositories;
+
+import io.micrometer.core.annotation.Timed;
+import org.example.catalogservice.Models.CatalogChange;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+
+@Repository
+@Timed("catalog.repository")
+public class CatalogChangeJdbcRepository {
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // one change per entity in a single batch, for the bulk import paths where an insert per row would double the cost
+    public void insertAll(CatalogChange.ChangeType type, Collection<Integer> entityIds) {
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(
+                "insert into catalog_changes (change_type, entity_id, created_at) values (?, ?, ?)",
+                entityIds, BATCH_SIZE, (ps, entityId) -> {
+                    ps.setString(1, type.name());
+                    ps.setInt(2, entityId);
+                    ps.setTimestamp(3, createdAt);
+                });
+    }
+}
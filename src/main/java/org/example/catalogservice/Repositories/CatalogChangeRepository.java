@@ -0,0 +1,16 @@
+package org.example.catalogservice.Repositories;
+
+import org.example.catalogservice.DTO.CatalogChangeDTO;
+import org.example.catalogservice.Models.CatalogChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface CatalogChangeRepository extends JpaRepository<CatalogChange, Long> {
+    @Query("select new org.example.catalogservice.DTO.CatalogChangeDTO(c.id, c.type, c.entityId, c.revision, c.createdAt) " +
+            "from CatalogChange c where c.id > :since order by c.id")
+    List<CatalogChangeDTO> findSince(@Param("since") long since, Limit limit);
+}
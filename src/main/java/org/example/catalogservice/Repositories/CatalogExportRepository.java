@@ -0,0 +1,48 @@
+package org.example.catalogservice.Repositories;
+
+import io.micrometer.core.annotation.Timed;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.function.BiConsumer;
+
+@Repository
+@Timed("catalog.repository")
+public class CatalogExportRepository {
+    // PostgreSQL only honours the fetch size inside a transaction; the caller must open one
+    private static final int FETCH_SIZE = 1000;
+    private static final String CATALOG_SQL = "select r.id, r.name, r.address, m.id as menu_item_id, " +
+            "m.name as menu_item_name, m.price from restaurants r " +
+            "left join restaurant_menu_items rm on rm.restaurant_id = r.id " +
+            "left join menu_items m on m.id = rm.menu_item_id " +
+            "where r.id > ? order by r.id, m.id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // walks every restaurant after the given id with a server-side cursor, one row per menu item ordered by
+    // restaurant; a restaurant without a menu comes back once with a null item
+    public void streamCatalog(int after, BiConsumer<RestaurantSummaryDTO, MenuItemSummaryDTO> consumer) {
+        RestaurantSummaryDTO[] current = new RestaurantSummaryDTO[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(CATALOG_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setInt(1, after);
+            return ps;
+        }, rs -> {
+            int restaurantId = rs.getInt("id");
+            if (current[0] == null || current[0].id() != restaurantId) {
+                current[0] = new RestaurantSummaryDTO(restaurantId, rs.getString("name"), rs.getString("address"));
+            }
+            int menuItemId = rs.getInt("menu_item_id");
+            consumer.accept(current[0], rs.wasNull() ? null
+                    : new MenuItemSummaryDTO(menuItemId, rs.getString("menu_item_name"), rs.getInt("price")));
+        });
+    }
+}
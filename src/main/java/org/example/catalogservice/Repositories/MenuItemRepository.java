@@ -1,7 +1,33 @@
 package org.example.catalogservice.Repositories;
 
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
 import org.example.catalogservice.Models.MenuItem;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface MenuItemRepository extends JpaRepository<MenuItem, Integer> {
+    @Query("select new org.example.catalogservice.DTO.MenuItemSummaryDTO(m.id, m.name, m.price) " +
+            "from MenuItem m where m.id > :after order by m.id")
+    List<MenuItemSummaryDTO> findSummariesAfter(@Param("after") Integer after, Limit limit);
+
+    @Query("select new org.example.catalogservice.DTO.MenuItemSummaryDTO(m.id, m.name, m.price) " +
+            "from MenuItem m where m.name in :names")
+    List<MenuItemSummaryDTO> findSummariesByNameIn(@Param("names") Collection<String> names);
+
+    @Query("select new org.example.catalogservice.DTO.MenuItemSummaryDTO(m.id, m.name, m.price) " +
+            "from MenuItem m where m.id in :ids")
+    List<MenuItemSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("select new org.example.catalogservice.DTO.MenuItemSummaryDTO(m.id, m.name, m.price) " +
+            "from MenuItem m where m.id = :id")
+    Optional<MenuItemSummaryDTO> findSummaryById(@Param("id") Integer id);
+
+    @Query("select m.version from MenuItem m where m.id = :menuItemId")
+    Optional<Long> findVersionById(@Param("menuItemId") Integer menuItemId);
 }
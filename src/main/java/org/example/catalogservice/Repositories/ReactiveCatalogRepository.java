@@ -0,0 +1,89 @@
+package org.example.catalogservice.Repositories;
+
+import io.r2dbc.spi.Readable;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Non-blocking read side over R2DBC; rows are mapped straight to the summary records the MVC
+// endpoints already return, and are only fetched as fast as the subscriber requests them
+@Repository
+public class ReactiveCatalogRepository {
+    private static final int MENU_FETCH_SIZE = 500;
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveCatalogRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<RestaurantSummaryDTO> findRestaurantsAfter(int after, int limit) {
+        return databaseClient.sql("select id, name, address from restaurants where id > :after order by id limit :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(ReactiveCatalogRepository::restaurant)
+                .all();
+    }
+
+    public Mono<RestaurantSummaryDTO> findRestaurantById(int restaurantId) {
+        return databaseClient.sql("select id, name, address from restaurants where id = :restaurantId")
+                .bind("restaurantId", restaurantId)
+                .map(ReactiveCatalogRepository::restaurant)
+                .one();
+    }
+
+    public Mono<Boolean> existsRestaurantById(int restaurantId) {
+        return databaseClient.sql("select 1 from restaurants where id = :restaurantId")
+                .bind("restaurantId", restaurantId)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    public Mono<Boolean> existsAnyRestaurant() {
+        return databaseClient.sql("select 1 from restaurants limit 1")
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    public Mono<Boolean> existsMenuByRestaurantId(int restaurantId) {
+        return databaseClient.sql("select 1 from restaurant_menu_items where restaurant_id = :restaurantId limit 1")
+                .bind("restaurantId", restaurantId)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    public Flux<MenuItemSummaryDTO> findMenuByRestaurantId(int restaurantId) {
+        return databaseClient.sql("select m.id, m.name, m.price from restaurant_menu_items rm " +
+                        "join menu_items m on m.id = rm.menu_item_id where rm.restaurant_id = :restaurantId order by m.id")
+                .bind("restaurantId", restaurantId)
+                .filter(statement -> statement.fetchSize(MENU_FETCH_SIZE))
+                .map(ReactiveCatalogRepository::menuItem)
+                .all();
+    }
+
+    public Mono<MenuItemSummaryDTO> findMenuItemByRestaurantId(int restaurantId, int menuItemId) {
+        return databaseClient.sql("select m.id, m.name, m.price from restaurant_menu_items rm " +
+                        "join menu_items m on m.id = rm.menu_item_id " +
+                        "where rm.restaurant_id = :restaurantId and rm.menu_item_id = :menuItemId")
+                .bind("restaurantId", restaurantId)
+                .bind("menuItemId", menuItemId)
+                .map(ReactiveCatalogRepository::menuItem)
+                .one();
+    }
+
+    private static RestaurantSummaryDTO restaurant(Readable row) {
+        return new RestaurantSummaryDTO(row.get("id", Integer.class), row.get("name", String.class),
+                row.get("address", String.class));
+    }
+
+    private static MenuItemSummaryDTO menuItem(Readable row) {
+        return new MenuItemSummaryDTO(row.get("id", Integer.class), row.get("name", String.class),
+                row.get("price", Integer.class));
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.catalogservice.Repositories;
+
+import io.micrometer.core.annotation.Timed;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.Models.Restaurant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+@Repository
+@Timed("catalog.repository")
+public class RestaurantJdbcRepository {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // returns the rows actually inserted, read back as generated keys (pgjdbc appends returning id, name, address),
+    // so callers match them by (name, address) instead of trusting update counts or the order of the keys.
+    // The conflict target is left out because H2's PostgreSQL mode only parses a bare on conflict do nothing;
+    // with a generated id the unique (name, address) constraint is the only one an insert can clash on
+    public List<RestaurantSummaryDTO> insertIgnoringDuplicates(List<Restaurant> restaurants) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(
+                        "insert into restaurants (name, address) values (?, ?) on conflict do nothing",
+                        new String[]{"id", "name", "address"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, restaurants.get(i).getName());
+                        ps.setString(2, restaurants.get(i).getAddress());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return restaurants.size();
+                    }
+                }, keyHolder);
+        return keyHolder.getKeyList().stream()
+                .map(keys -> new RestaurantSummaryDTO(((Number) keys.get("id")).intValue(),
+                        (String) keys.get("name"), (String) keys.get("address")))
+                .toList();
+    }
+}
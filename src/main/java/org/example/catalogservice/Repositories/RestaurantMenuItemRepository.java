@@ -0,0 +1,42 @@
+package org.example.catalogservice.Repositories;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+@Repository
+@Timed("catalog.repository")
+public class RestaurantMenuItemRepository {
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Set<Integer> findAssignedMenuItemIds(int restaurantId, Collection<Integer> menuItemIds) {
+        if (menuItemIds.isEmpty()) {
+            return Set.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("restaurantId", restaurantId)
+                .addValue("menuItemIds", menuItemIds);
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "select menu_item_id from restaurant_menu_items " +
+                        "where restaurant_id = :restaurantId and menu_item_id in (:menuItemIds)",
+                params, Integer.class));
+    }
+
+    public void assignMenuItems(int restaurantId, Collection<Integer> menuItemIds) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "insert into restaurant_menu_items (restaurant_id, menu_item_id) values (?, ?)",
+                menuItemIds, BATCH_SIZE, (ps, menuItemId) -> {
+                    ps.setInt(1, restaurantId);
+                    ps.setInt(2, menuItemId);
+                });
+    }
+}
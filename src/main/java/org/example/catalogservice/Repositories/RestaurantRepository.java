@@ -1,7 +1,67 @@
 package org.example.catalogservice.Repositories;
 
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.Models.MenuItem;
 import org.example.catalogservice.Models.Restaurant;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface RestaurantRepository extends JpaRepository<Restaurant, Integer> {
+    @Query("select new org.example.catalogservice.DTO.RestaurantSummaryDTO(r.id, r.name, r.address) " +
+            "from Restaurant r where r.id > :after order by r.id")
+    List<RestaurantSummaryDTO> findSummariesAfter(@Param("after") Integer after, Limit limit);
+
+    @Query("select new org.example.catalogservice.DTO.RestaurantSummaryDTO(r.id, r.name, r.address) " +
+            "from Restaurant r where r.id in :ids")
+    List<RestaurantSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("select new org.example.catalogservice.DTO.RestaurantSummaryDTO(r.id, r.name, r.address) " +
+            "from Restaurant r where r.id = :id")
+    Optional<RestaurantSummaryDTO> findSummaryById(@Param("id") Integer id);
+
+    @Query("select new org.example.catalogservice.DTO.MenuItemSummaryDTO(m.id, m.name, m.price) " +
+            "from Restaurant r join r.menu m where r.id = :restaurantId")
+    List<MenuItemSummaryDTO> findMenuSummariesByRestaurantId(@Param("restaurantId") Integer restaurantId);
+
+    // served by the (restaurant_id, menu_item_id) join table index and the menu_items primary key
+    @Query("select new org.example.catalogservice.DTO.MenuItemSummaryDTO(m.id, m.name, m.price) " +
+            "from Restaurant r join r.menu m where r.id = :restaurantId " +
+            "and m.price between :minPrice and :maxPrice order by m.price, m.id")
+    List<MenuItemSummaryDTO> findMenuSummariesByPrice(@Param("restaurantId") Integer restaurantId,
+                                                      @Param("minPrice") int minPrice,
+                                                      @Param("maxPrice") int maxPrice, Limit limit);
+
+    @Query("select new org.example.catalogservice.DTO.MenuItemSummaryDTO(m.id, m.name, m.price) " +
+            "from Restaurant r join r.menu m where r.id = :restaurantId " +
+            "and m.price between :minPrice and :maxPrice order by m.id")
+    List<MenuItemSummaryDTO> findMenuSummariesInPriceRange(@Param("restaurantId") Integer restaurantId,
+                                                           @Param("minPrice") int minPrice,
+                                                           @Param("maxPrice") int maxPrice, Limit limit);
+
+    @Query("select r.version from Restaurant r where r.id = :restaurantId")
+    Optional<Long> findVersionById(@Param("restaurantId") Integer restaurantId);
+
+    @Query("select r.menuRevision from Restaurant r where r.id = :restaurantId")
+    Optional<Long> findMenuRevisionById(@Param("restaurantId") Integer restaurantId);
+
+    @Query("select m.version from Restaurant r join r.menu m where r.id = :restaurantId and m.id = :menuItemId")
+    Optional<Long> findMenuItemVersionByRestaurantId(@Param("restaurantId") Integer restaurantId,
+                                                     @Param("menuItemId") Integer menuItemId);
+
+    // also row-locks the restaurant, so concurrent assignments to the same menu run one after another
+    @Modifying
+    @Query("update Restaurant r set r.menuRevision = r.menuRevision + 1 where r.id = :restaurantId")
+    int incrementMenuRevision(@Param("restaurantId") Integer restaurantId);
+
+    @Query("select m from Restaurant r join r.menu m where r.id = :restaurantId and m.id = :menuItemId")
+    Optional<MenuItem> findMenuItemByRestaurantId(@Param("restaurantId") Integer restaurantId,
+                                                  @Param("menuItemId") Integer menuItemId);
 }
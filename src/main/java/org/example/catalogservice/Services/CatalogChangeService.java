@@ -0,0 +1,189 @@
+package org.example.catalogservice.Services;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+import org.example.catalogservice.DTO.CatalogChangeDTO;
+import org.example.catalogservice.DTO.ResponseDTO;
+import org.example.catalogservice.Events.CatalogChangesRecordedEvent;
+import org.example.catalogservice.Exceptions.InvalidPageRequestException;
+import org.example.catalogservice.Models.CatalogChange;
+import org.example.catalogservice.Repositories.CatalogChangeJdbcRepository;
+import org.example.catalogservice.Repositories.CatalogChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Change feed over the catalog_changes outbox. Sequences are handed out at insert but become visible at commit,
+// so a later sequence can be read while an earlier one is still in flight; reads stop at such a gap until it
+// fills or has been seen missing for gap-timeout, at which point its transaction is taken to have rolled back.
+// The clock starts when this instance first reads past the gap, not when the later row was inserted, so a slow
+// commit is only lost if it lands more than gap-timeout after a reader first waited on it. Gaps behind rows
+// older than gap-horizon are settled without waiting, which is also how history is re-read after a restart.
+@Service
+@Timed("catalog.service")
+public class CatalogChangeService {
+    private static final Logger log = LoggerFactory.getLogger(CatalogChangeService.class);
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    @Autowired
+    private CatalogChangeRepository catalogChangeRepository;
+    @Autowired
+    private CatalogChangeJdbcRepository catalogChangeJdbcRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Value("${catalog.changes.gap-timeout:PT5S}")
+    private Duration gapTimeout;
+    @Value("${catalog.changes.gap-horizon:PT10M}")
+    private Duration gapHorizon;
+    @Value("${catalog.changes.max-wait:PT60S}")
+    private Duration maxWait;
+    private Clock clock = Clock.systemUTC();
+
+    // first missing sequence of each gap -> when a read here first stopped at it
+    private final Map<Long, Instant> gapsSeen = new ConcurrentHashMap<>();
+
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    // waiters are served off the committing thread, which still holds its connection at that point;
+    // commits arriving while a delivery is queued share it
+    private final ExecutorService notifier = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean deliveryPending = new AtomicBoolean();
+
+    // must join the transaction that makes the change, otherwise the feed could announce a change that rolled back
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void record(CatalogChange.ChangeType type, Integer entityId, Long revision) {
+        catalogChangeRepository.save(new CatalogChange(type, entityId, revision));
+        eventPublisher.publishEvent(new CatalogChangesRecordedEvent(type));
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void recordAll(CatalogChange.ChangeType type, Collection<Integer> entityIds) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        catalogChangeJdbcRepository.insertAll(type, entityIds);
+        eventPublisher.publishEvent(new CatalogChangesRecordedEvent(type));
+    }
+
+    public List<CatalogChangeDTO> getChanges(long since, int limit) {
+        validate(since, limit);
+        return readVisible(since, limit);
+    }
+
+    // long poll: answers at once when there are changes after since, otherwise when the next commit brings
+    // some or after wait, with an empty list. Commits on other instances are only seen at the end of the wait.
+    public DeferredResult<ResponseDTO<List<CatalogChangeDTO>>> awaitChanges(long since, int limit, Duration wait) {
+        validate(since, limit);
+        if (wait.isNegative() || wait.compareTo(maxWait) > 0) {
+            throw new InvalidPageRequestException("wait must be between 0 and " + maxWait.toSeconds() + " seconds");
+        }
+        DeferredResult<ResponseDTO<List<CatalogChangeDTO>>> result = new DeferredResult<>(wait.toMillis());
+        Waiter waiter = new Waiter(since, limit, result);
+        // registered before the first read, so a commit landing in between is not missed
+        waiters.add(waiter);
+        result.onCompletion(() -> waiters.remove(waiter));
+        result.onTimeout(() -> waiter.complete(readVisible(since, limit)));
+        List<CatalogChangeDTO> changes = readVisible(since, limit);
+        if (!changes.isEmpty() || wait.isZero()) {
+            waiter.complete(changes);
+        }
+        return result;
+    }
+
+    @TransactionalEventListener
+    public void onChangesRecorded(CatalogChangesRecordedEvent event) {
+        if (!waiters.isEmpty() && deliveryPending.compareAndSet(false, true)) {
+            notifier.execute(() -> {
+                deliveryPending.set(false);
+                try {
+                    deliverToWaiters();
+                } catch (RuntimeException e) {
+                    log.warn("could not deliver catalog changes, waiters are answered at the end of their wait", e);
+                }
+            });
+        }
+    }
+
+    // one read from the oldest waiter's position serves every waiter
+    void deliverToWaiters() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        List<Waiter> pending = new ArrayList<>(waiters);
+        long since = pending.stream().mapToLong(Waiter::since).min().orElseThrow();
+        int limit = pending.stream().mapToInt(Waiter::limit).max().orElseThrow();
+        List<CatalogChangeDTO> changes = readVisible(since, limit);
+        for (Waiter waiter : pending) {
+            List<CatalogChangeDTO> visible = changes.stream()
+                    .filter(change -> change.sequence() > waiter.since())
+                    .limit(waiter.limit())
+                    .toList();
+            if (!visible.isEmpty()) {
+                waiter.complete(visible);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        notifier.shutdownNow();
+    }
+
+    private List<CatalogChangeDTO> readVisible(long since, int limit) {
+        List<CatalogChangeDTO> changes = catalogChangeRepository.findSince(since, Limit.of(limit));
+        Instant now = clock.instant();
+        Instant beyondHorizon = now.minus(gapHorizon);
+        gapsSeen.values().removeIf(seen -> seen.isBefore(beyondHorizon));
+        long expected = since + 1;
+        for (int i = 0; i < changes.size(); i++) {
+            CatalogChangeDTO change = changes.get(i);
+            if (change.sequence() != expected && change.createdAt().isAfter(beyondHorizon)) {
+                Instant seen = gapsSeen.computeIfAbsent(expected, missing -> now);
+                if (seen.isAfter(now.minus(gapTimeout))) {
+                    return changes.subList(0, i);
+                }
+            }
+            expected = change.sequence() + 1;
+        }
+        return changes;
+    }
+
+    private static void validate(long since, int limit) {
+        if (since < 0) {
+            throw new InvalidPageRequestException("since cannot be negative");
+        }
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private record Waiter(long since, int limit, DeferredResult<ResponseDTO<List<CatalogChangeDTO>>> result) {
+        void complete(List<CatalogChangeDTO> changes) {
+            result.setResult(new ResponseDTO<>(HttpStatus.OK.value(), changes));
+        }
+    }
+}
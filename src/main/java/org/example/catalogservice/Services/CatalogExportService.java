@@ -0,0 +1,83 @@
+package org.example.catalogservice.Services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.Repositories.CatalogExportRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+// Writes the catalog as NDJSON, one restaurant with its whole menu per line, ordered by restaurant id.
+// Rows are written to the response as the cursor yields them, so memory does not grow with the catalog
+// or with the size of a single menu; a client that lost the connection resumes after the last full line.
+@Service
+@Timed("catalog.service")
+public class CatalogExportService {
+    @Autowired
+    private CatalogExportRepository catalogExportRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void exportCatalog(Integer after, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            RestaurantSummaryDTO[] open = new RestaurantSummaryDTO[1];
+            try {
+                transactionTemplate.executeWithoutResult(status -> catalogExportRepository.streamCatalog(
+                        after == null ? 0 : after, (restaurant, menuItem) -> {
+                            try {
+                                if (open[0] != restaurant) {
+                                    if (open[0] != null) {
+                                        endRestaurant(generator);
+                                    }
+                                    startRestaurant(generator, restaurant);
+                                    open[0] = restaurant;
+                                }
+                                if (menuItem != null) {
+                                    writeMenuItem(generator, menuItem);
+                                }
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (open[0] != null) {
+                endRestaurant(generator);
+            }
+        }
+    }
+
+    private static void startRestaurant(JsonGenerator generator, RestaurantSummaryDTO restaurant) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", restaurant.id());
+        generator.writeStringField("name", restaurant.name());
+        generator.writeStringField("address", restaurant.address());
+        generator.writeArrayFieldStart("menuItems");
+    }
+
+    private static void writeMenuItem(JsonGenerator generator, MenuItemSummaryDTO menuItem) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", menuItem.id());
+        generator.writeStringField("name", menuItem.name());
+        generator.writeNumberField("price", menuItem.price());
+        generator.writeEndObject();
+    }
+
+    private static void endRestaurant(JsonGenerator generator) throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
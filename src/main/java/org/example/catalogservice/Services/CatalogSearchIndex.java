@@ -0,0 +1,317 @@
+package org.example.catalogservice.Services;
+
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.DTO.SearchHitDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory trigram index over restaurant names and addresses and menu item names.
+// Text is lower-cased and split into terms on anything that is not a letter or digit. Every term is posted
+// under its trigrams, padded with two leading blanks so its one- and two-letter prefixes get grams of their
+// own: "pizza" goes under "  p", " pi", "piz", "izz" and "zza". Query terms of one or two letters thus
+// match term prefixes, longer ones match anywhere inside a term.
+// Documents are only ever added, so each postings list holds document numbers in ascending order and lists
+// are intersected by walking the shortest one. Searches share a read lock, additions take the write lock.
+public class CatalogSearchIndex {
+    // rough sizes on a 64-bit JVM with compressed oops, used for memoryBytes(): a postings entry is the hash
+    // map node and table slot, the boxed gram, the postings object and its initial array; a document is the
+    // document and hit records plus its entry in documentNumbers
+    private static final int POSTINGS_ENTRY_BYTES = 104;
+    private static final int DOCUMENT_BYTES = 144;
+    private static final int MAX_SHORT_QUERY_RESULTS = 1024;
+    private static final Comparator<Match> RANKING = Comparator.comparingInt((Match match) -> -match.score())
+            .thenComparingInt(match -> match.hit().name().length())
+            .thenComparing(match -> match.hit().type())
+            .thenComparingInt(match -> match.hit().id());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> documentNumbers = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    // results of queries made only of one- and two-letter words, which match a large part of the catalog
+    // and are typed on every keystroke; dropped whenever documents are added
+    private final Map<String, List<SearchHitDTO>> shortQueryResults = new ConcurrentHashMap<>();
+    private volatile long memoryBytes;
+
+    public void addRestaurants(Collection<RestaurantSummaryDTO> restaurants) {
+        addAll(restaurants.stream().map(SearchHitDTO::of).toList());
+    }
+
+    public void addMenuItems(Collection<MenuItemSummaryDTO> menuItems) {
+        addAll(menuItems.stream().map(SearchHitDTO::of).toList());
+    }
+
+    // best matches first: per query term the best of an exact, prefix or inner match in the name, then in
+    // the address at half weight; a document has to match every query term
+    public List<SearchHitDTO> search(String query, SearchHitDTO.Type type, int limit) {
+        String[] queryTerms = terms(query);
+        if (queryTerms.length == 0) {
+            return List.of();
+        }
+        String shortQueryKey = shortQueryKey(queryTerms, type, limit);
+        if (shortQueryKey != null) {
+            List<SearchHitDTO> hits = shortQueryResults.get(shortQueryKey);
+            if (hits != null) {
+                return hits;
+            }
+        }
+        Set<Long> grams = new HashSet<>();
+        for (String term : queryTerms) {
+            addQueryGrams(term, grams);
+        }
+        lock.readLock().lock();
+        try {
+            List<SearchHitDTO> hits = search(queryTerms, grams, type, limit);
+            // stored under the read lock, so an addition cannot clear the results before a stale list is put back
+            if (shortQueryKey != null) {
+                if (shortQueryResults.size() >= MAX_SHORT_QUERY_RESULTS) {
+                    shortQueryResults.clear();
+                }
+                shortQueryResults.put(shortQueryKey, hits);
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<SearchHitDTO> search(String[] queryTerms, Set<Long> grams, SearchHitDTO.Type type, int limit) {
+        Postings[] lists = new Postings[grams.size()];
+        int n = 0;
+        for (long gram : grams) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists[n++] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(Postings::size));
+
+        // worst of the best matches on top, so it is the one dropped when a better one comes along
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        int[] positions = new int[lists.length];
+        Postings shortest = lists[0];
+        for (int i = 0; i < shortest.size(); i++) {
+            int number = shortest.numbers[i];
+            Document document = documents.get(number);
+            if ((type != null && document.hit().type() != type) || !containedInAll(lists, positions, number)) {
+                continue;
+            }
+            int score = document.score(queryTerms);
+            if (score > 0) {
+                best.add(new Match(document.hit(), score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(RANKING);
+        return matches.stream().map(Match::hit).toList();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // estimated heap held by the index, kept up to date as documents are added
+    public long memoryBytes() {
+        return memoryBytes;
+    }
+
+    private void addAll(List<SearchHitDTO> hits) {
+        lock.writeLock().lock();
+        try {
+            for (SearchHitDTO hit : hits) {
+                add(hit);
+            }
+            shortQueryResults.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // adding a document that is already indexed is a no-op, so the startup load and the
+    // commits it races with may both add the same row
+    private void add(SearchHitDTO hit) {
+        long key = (long) hit.type().ordinal() << 32 | (hit.id() & 0xffffffffL);
+        if (documentNumbers.containsKey(key)) {
+            return;
+        }
+        int number = documents.size();
+        Document document = new Document(hit, terms(hit.name()), terms(hit.address()));
+        documents.add(document);
+        documentNumbers.put(key, number);
+
+        long bytes = DOCUMENT_BYTES + stringBytes(hit.name()) + stringBytes(hit.address())
+                + termBytes(document.nameTerms()) + termBytes(document.addressTerms());
+        Set<Long> grams = new HashSet<>();
+        for (String term : document.nameTerms()) {
+            addGrams(term, grams);
+        }
+        for (String term : document.addressTerms()) {
+            addGrams(term, grams);
+        }
+        for (long gram : grams) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                list = new Postings();
+                postings.put(gram, list);
+                bytes += POSTINGS_ENTRY_BYTES;
+            }
+            bytes += list.add(number);
+        }
+        memoryBytes += bytes;
+    }
+
+    private static String shortQueryKey(String[] queryTerms, SearchHitDTO.Type type, int limit) {
+        for (String term : queryTerms) {
+            if (term.length() >= 3) {
+                return null;
+            }
+        }
+        return String.join(" ", queryTerms) + '/' + type + '/' + limit;
+    }
+
+    // positions[j] only moves forward, since the candidates come in ascending order
+    private static boolean containedInAll(Postings[] lists, int[] positions, int number) {
+        for (int j = 1; j < lists.length; j++) {
+            int index = Arrays.binarySearch(lists[j].numbers, positions[j], lists[j].size(), number);
+            if (index < 0) {
+                positions[j] = -index - 1;
+                return false;
+            }
+            positions[j] = index + 1;
+        }
+        return true;
+    }
+
+    static String[] terms(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        List<String> terms = new ArrayList<>();
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                term.append(Character.toLowerCase(c));
+            } else if (!term.isEmpty()) {
+                terms.add(term.toString());
+                term.setLength(0);
+            }
+        }
+        if (!term.isEmpty()) {
+            terms.add(term.toString());
+        }
+        return terms.toArray(String[]::new);
+    }
+
+    private static void addGrams(String term, Set<Long> grams) {
+        String padded = "  " + term;
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(gram(padded, i));
+        }
+    }
+
+    private static void addQueryGrams(String term, Set<Long> grams) {
+        if (term.length() < 3) {
+            addGrams(term, grams);
+            return;
+        }
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            grams.add(gram(term, i));
+        }
+    }
+
+    private static long gram(String text, int i) {
+        return (long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2);
+    }
+
+    // compact strings, one byte per Latin-1 character
+    private static long stringBytes(String text) {
+        return text == null ? 0 : 40 + text.length();
+    }
+
+    private static long termBytes(String[] terms) {
+        long bytes = 16 + 4L * terms.length;
+        for (String term : terms) {
+            bytes += stringBytes(term);
+        }
+        return bytes;
+    }
+
+    private record Document(SearchHitDTO hit, String[] nameTerms, String[] addressTerms) {
+
+        // 0 when some query term is in neither field, which also weeds out documents whose grams
+        // only matched across different terms
+        int score(String[] queryTerms) {
+            int total = 0;
+            for (String queryTerm : queryTerms) {
+                int best = Math.max(2 * match(nameTerms, queryTerm), match(addressTerms, queryTerm));
+                if (best == 0) {
+                    return 0;
+                }
+                total += best;
+            }
+            return total;
+        }
+
+        private static int match(String[] terms, String queryTerm) {
+            int best = 0;
+            for (String term : terms) {
+                if (term.equals(queryTerm)) {
+                    return 3;
+                }
+                if (term.startsWith(queryTerm)) {
+                    best = 2;
+                } else if (best == 0 && queryTerm.length() >= 3 && term.contains(queryTerm)) {
+                    best = 1;
+                }
+            }
+            return best;
+        }
+    }
+
+    private record Match(SearchHitDTO hit, int score) {
+    }
+
+    private static final class Postings {
+        private int[] numbers = new int[2];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        // returns the bytes the list grew by
+        long add(int number) {
+            long grown = 0;
+            if (size == numbers.length) {
+                int[] larger = Arrays.copyOf(numbers, size + (size >> 1) + 1);
+                grown = 4L * (larger.length - numbers.length);
+                numbers = larger;
+            }
+            numbers[size++] = number;
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.catalogservice.Services;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.DTO.SearchHitDTO;
+import org.example.catalogservice.Events.MenuItemsCreatedEvent;
+import org.example.catalogservice.Events.RestaurantsCreatedEvent;
+import org.example.catalogservice.Exceptions.InvalidSearchRequestException;
+import org.example.catalogservice.Repositories.MenuItemRepository;
+import org.example.catalogservice.Repositories.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+// Typeahead search over the catalog, answered from a CatalogSearchIndex held in memory. The index is loaded
+// from the database once the application is ready and then follows restaurant and menu item creations as their
+// transactions commit. Each instance keeps its own index, so creations committed on other instances are only
+// picked up when this one restarts.
+@Service
+@Timed("catalog.service")
+public class CatalogSearchService {
+    static final int MAX_LIMIT = 50;
+    static final int MAX_QUERY_LENGTH = 100;
+    private static final int LOAD_PAGE_SIZE = 1000;
+    private static final Logger log = LoggerFactory.getLogger(CatalogSearchService.class);
+
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final CatalogSearchIndex index = new CatalogSearchIndex();
+
+    public CatalogSearchService(RestaurantRepository restaurantRepository, MenuItemRepository menuItemRepository,
+                                MeterRegistry registry) {
+        this.restaurantRepository = restaurantRepository;
+        this.menuItemRepository = menuItemRepository;
+        Gauge.builder("catalog.search.index.bytes", index, CatalogSearchIndex::memoryBytes)
+                .baseUnit("bytes")
+                .description("estimated heap held by the search index")
+                .register(registry);
+        Gauge.builder("catalog.search.index.documents", index, CatalogSearchIndex::size).register(registry);
+    }
+
+    public List<SearchHitDTO> search(String query, SearchHitDTO.Type type, int limit) {
+        if (query == null || query.isBlank() || query.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidSearchRequestException("q must hold between 1 and " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new InvalidSearchRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return index.search(query, type, limit);
+    }
+
+    // read in keyset pages, so the load never holds more than one page of rows besides the index itself
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long start = System.nanoTime();
+        List<RestaurantSummaryDTO> restaurants = restaurantRepository.findSummariesAfter(0, Limit.of(LOAD_PAGE_SIZE));
+        while (!restaurants.isEmpty()) {
+            index.addRestaurants(restaurants);
+            restaurants = restaurantRepository.findSummariesAfter(
+                    restaurants.get(restaurants.size() - 1).id(), Limit.of(LOAD_PAGE_SIZE));
+        }
+        List<MenuItemSummaryDTO> menuItems = menuItemRepository.findSummariesAfter(0, Limit.of(LOAD_PAGE_SIZE));
+        while (!menuItems.isEmpty()) {
+            index.addMenuItems(menuItems);
+            menuItems = menuItemRepository.findSummariesAfter(
+                    menuItems.get(menuItems.size() - 1).id(), Limit.of(LOAD_PAGE_SIZE));
+        }
+        log.info("search index loaded with {} documents in {} ms, about {} KiB", index.size(),
+                (System.nanoTime() - start) / 1_000_000, index.memoryBytes() / 1024);
+    }
+
+    @TransactionalEventListener
+    public void onRestaurantsCreated(RestaurantsCreatedEvent event) {
+        index.addRestaurants(event.restaurants());
+    }
+
+    @TransactionalEventListener
+    public void onMenuItemsCreated(MenuItemsCreatedEvent event) {
+        index.addMenuItems(event.menuItems());
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.catalogservice.Services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+// Gzips response bodies that are cached and served many times, so they can afford a higher level than
+// Tomcat's per-response compression; the threshold is shared with server.compression.min-response-size
+@Service
+public class CompressionService {
+    private final long minSize;
+    private final int level;
+    private final Timer compressTimer;
+    private final DistributionSummary ratio;
+    private final Counter bytesIn;
+    private final Counter bytesOut;
+
+    public CompressionService(MeterRegistry registry,
+                              @Value("${server.compression.min-response-size:2KB}") DataSize minSize,
+                              @Value("${catalog.compression.level:9}") int level) {
+        this.minSize = minSize.toBytes();
+        this.level = level;
+        this.compressTimer = registry.timer("catalog.compression");
+        this.ratio = DistributionSummary.builder("catalog.compression.ratio")
+                .description("uncompressed size divided by gzip size")
+                .register(registry);
+        this.bytesIn = Counter.builder("catalog.compression.bytes").tag("stage", "in").baseUnit("bytes").register(registry);
+        this.bytesOut = Counter.builder("catalog.compression.bytes").tag("stage", "out").baseUnit("bytes").register(registry);
+    }
+
+    // null when the body is below the threshold, where the gzip framing costs more than it saves
+    public byte[] gzip(byte[] body) {
+        if (body.length < minSize) {
+            return null;
+        }
+        byte[] compressed = compressTimer.record(() -> compress(body));
+        ratio.record((double) body.length / compressed.length);
+        bytesIn.increment(body.length);
+        bytesOut.increment(compressed.length);
+        return compressed;
+    }
+
+    private byte[] compress(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
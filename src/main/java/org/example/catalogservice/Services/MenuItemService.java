@@ -1,31 +1,114 @@
 package org.example.catalogservice.Services;
 
-import org.example.catalogservice.DTO.GETResponseDTO;
+import io.micrometer.core.annotation.Timed;
+import org.example.catalogservice.Config.CacheConfig;
+import org.example.catalogservice.DTO.BulkInsertResultDTO;
+import org.example.catalogservice.DTO.LookupResultDTO;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.RequestDTO;
+import org.example.catalogservice.Events.MenuItemsCreatedEvent;
+import org.example.catalogservice.Exceptions.CannotCreateMenuItemException;
+import org.example.catalogservice.Exceptions.InvalidBulkRequestException;
+import org.example.catalogservice.Exceptions.InvalidPageRequestException;
+import org.example.catalogservice.Exceptions.MalformedBulkRowException;
 import org.example.catalogservice.Exceptions.MenuItemAlreadyAddedException;
 import org.example.catalogservice.Exceptions.MenuItemDoesNotExistException;
+import org.example.catalogservice.Models.CatalogChange;
 import org.example.catalogservice.Models.MenuItem;
 import org.example.catalogservice.Repositories.MenuItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("catalog.service")
 public class MenuItemService {
+    private static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_LOOKUP_SIZE = 100;
+
     @Autowired
     private MenuItemRepository menuItemRepository;
+    @Autowired
+    private CatalogChangeService catalogChangeService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Value("${catalog.bulk.batch-size:500}")
+    private int batchSize;
 
     public String addMenuItem(String name, int price) {
         try {
-            menuItemRepository.save(new MenuItem(name, price));
+            // flushed inside the transaction, so a duplicate surfaces here rather than at commit
+            transactionTemplate.executeWithoutResult(status -> {
+                MenuItem menuItem = menuItemRepository.saveAndFlush(new MenuItem(name, price));
+                catalogChangeService.record(CatalogChange.ChangeType.MENU_ITEM_CREATED, menuItem.getId(), null);
+                eventPublisher.publishEvent(new MenuItemsCreatedEvent(List.of(convertToDto(menuItem))));
+            });
             return "menu item added successfully";
         } catch (DataIntegrityViolationException e) {
             throw new MenuItemAlreadyAddedException("menu item already added");
         }
     }
 
+    public BulkInsertResultDTO addMenuItems(Iterator<RequestDTO> requests) {
+        BulkInsertResultDTO result = new BulkInsertResultDTO();
+        List<PendingMenuItem> batch = new ArrayList<>(batchSize);
+        int row = 0;
+        while (true) {
+            RequestDTO request;
+            try {
+                if (!requests.hasNext()) {
+                    break;
+                }
+                request = requests.next();
+            } catch (MalformedBulkRowException e) {
+                // earlier batches are committed already, so report how far the payload got rather than failing it
+                result.truncate(row, e.getMessage());
+                break;
+            }
+            try {
+                MenuItem menuItem = new MenuItem(request.getName(), request.getPrice());
+                batch.add(new PendingMenuItem(row, menuItem.getName(), menuItem.getPrice()));
+            } catch (CannotCreateMenuItemException e) {
+                result.reject(row, e.getMessage());
+            }
+            row++;
+            if (batch.size() >= batchSize) {
+                insertBatch(batch, result);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(batch, result);
+        }
+        result.setReceived(row);
+        return result;
+    }
+
+    // cached as an immutable summary, the entity is loaded fresh by findById
+    @Cacheable(CacheConfig.MENU_ITEMS)
+    public MenuItemSummaryDTO findSummaryById(Integer id) {
+        return menuItemRepository.findSummaryById(id)
+                .orElseThrow(() -> new MenuItemDoesNotExistException("menu item does not exist"));
+    }
+
     public MenuItem findById(Integer id) {
         MenuItem menuItem = menuItemRepository.findById(id).orElse(null);
         if (menuItem != null) {
@@ -34,27 +117,101 @@ public class MenuItemService {
         throw new MenuItemDoesNotExistException("menu item does not exist");
     }
 
-    public List<MenuItem> findAllMenuItems() {
-        List<MenuItem> menuItems = menuItemRepository.findAll();
-        if (menuItems.isEmpty()) {
+    public Optional<Long> findVersion(Integer id) {
+        return menuItemRepository.findVersionById(id);
+    }
+
+    public List<MenuItemSummaryDTO> findAllMenuItems(Integer after, int limit) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<MenuItemSummaryDTO> menuItems = menuItemRepository.findSummariesAfter(
+                after == null ? 0 : after, Limit.of(limit));
+        if (menuItems.isEmpty() && after == null) {
             throw new MenuItemDoesNotExistException("no menu items found");
         }
         return menuItems;
     }
 
-    public GETResponseDTO convertToDto(MenuItem menuItem) {
-        GETResponseDTO dto = new GETResponseDTO();
-        dto.setId(menuItem.getId());
-        dto.setName(menuItem.getName());
-        dto.setPrice(Optional.of(menuItem.getPrice()));
-        return dto;
+    public MenuItemSummaryDTO convertToDto(MenuItem menuItem) {
+        return new MenuItemSummaryDTO(menuItem.getId(), menuItem.getName(), menuItem.getPrice());
     }
 
-    public List<MenuItem> findAllById(List<Integer> menuItemIdList) {
-        List<MenuItem> menuItems = menuItemRepository.findAllById(menuItemIdList);
+    // existence check for assignments, read as summaries so no entity enters the persistence context
+    public List<MenuItemSummaryDTO> findSummariesById(List<Integer> menuItemIdList) {
+        List<MenuItemSummaryDTO> menuItems = menuItemRepository.findSummariesByIdIn(menuItemIdList);
         if (menuItems.size() != menuItemIdList.size()) {
             throw new MenuItemDoesNotExistException("one or more menu items do not exist");
         }
         return menuItems;
     }
+
+    // the whole batch is one IN query; unknown ids come back as not-found entries, in request order
+    public List<LookupResultDTO<MenuItemSummaryDTO>> lookupSummaries(List<Integer> ids) {
+        checkLookupSize(ids);
+        Map<Integer, MenuItemSummaryDTO> menuItems = menuItemRepository.findSummariesByIdIn(new HashSet<>(ids)).stream()
+                .collect(Collectors.toMap(MenuItemSummaryDTO::id, Function.identity()));
+        return ids.stream().map(id -> LookupResultDTO.of(id, menuItems.get(id))).toList();
+    }
+
+    static void checkLookupSize(List<Integer> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_LOOKUP_SIZE) {
+            throw new InvalidBulkRequestException("between 1 and " + MAX_LOOKUP_SIZE + " ids can be looked up at once");
+        }
+        // immutable lists throw on contains(null) rather than answering false
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidBulkRequestException("ids must not contain blanks");
+        }
+    }
+
+    // each batch commits on its own; rows that clash with the (name, price) unique
+    // constraint, either in the database or earlier in the payload, are rejected individually
+    private void insertBatch(List<PendingMenuItem> batch, BulkInsertResultDTO result) {
+        Set<String> names = batch.stream().map(PendingMenuItem::name).collect(Collectors.toSet());
+        Set<String> seen = menuItemRepository.findSummariesByNameIn(names).stream()
+                .map(existing -> key(existing.name(), existing.price()))
+                .collect(Collectors.toCollection(HashSet::new));
+
+        List<PendingMenuItem> accepted = new ArrayList<>(batch.size());
+        for (PendingMenuItem pending : batch) {
+            if (seen.add(key(pending.name(), pending.price()))) {
+                accepted.add(pending);
+            } else {
+                result.reject(pending.row(), "menu item already added");
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> recordCreated(menuItemRepository.saveAllAndFlush(
+                    accepted.stream().map(pending -> new MenuItem(pending.name(), pending.price())).toList())));
+            result.addCreated(accepted.size());
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent writer inserted one of these rows after the lookup, retry one by one
+            for (PendingMenuItem pending : accepted) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> recordCreated(
+                            List.of(menuItemRepository.saveAndFlush(new MenuItem(pending.name(), pending.price())))));
+                    result.addCreated(1);
+                } catch (DataIntegrityViolationException duplicate) {
+                    result.reject(pending.row(), "menu item already added");
+                }
+            }
+        }
+    }
+
+    private void recordCreated(List<MenuItem> menuItems) {
+        catalogChangeService.recordAll(CatalogChange.ChangeType.MENU_ITEM_CREATED,
+                menuItems.stream().map(MenuItem::getId).toList());
+        eventPublisher.publishEvent(new MenuItemsCreatedEvent(menuItems.stream().map(this::convertToDto).toList()));
+    }
+
+    private static String key(String name, int price) {
+        return name + '\u0000' + price;
+    }
+
+    private record PendingMenuItem(int row, String name, int price) {
+    }
 }
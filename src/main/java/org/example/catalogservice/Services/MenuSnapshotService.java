@@ -0,0 +1,140 @@
+package org.example.catalogservice.Services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.MenuQueryDTO;
+import org.example.catalogservice.DTO.MenuSnapshotDTO;
+import org.example.catalogservice.DTO.ResponseDTO;
+import org.example.catalogservice.Events.MenuItemsAssignedEvent;
+import org.example.catalogservice.Exceptions.RestaurantDoesNotExistException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Keeps each restaurant's GET /restaurants/{id}/menu-items response as ready-to-send bytes.
+@Service
+@Timed("catalog.service")
+public class MenuSnapshotService {
+    private final RestaurantService restaurantService;
+    private final ObjectMapper objectMapper;
+    private final CompressionService compressionService;
+    private final boolean gzipEnabled;
+    private final Cache<Integer, MenuSnapshotDTO> snapshots;
+    private final Timer buildTimer;
+    private final Counter snapshotQueries;
+    private final Counter databaseQueries;
+
+    public MenuSnapshotService(RestaurantService restaurantService, ObjectMapper objectMapper,
+                               CompressionService compressionService, MeterRegistry registry,
+                               @Value("${catalog.menu-snapshot.max-bytes:67108864}") long maxBytes,
+                               @Value("${catalog.menu-snapshot.gzip:true}") boolean gzipEnabled) {
+        this.restaurantService = restaurantService;
+        this.objectMapper = objectMapper;
+        this.compressionService = compressionService;
+        this.gzipEnabled = gzipEnabled;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Integer restaurantId, MenuSnapshotDTO snapshot) -> snapshot.size())
+                .recordStats()
+                .build();
+        this.buildTimer = registry.timer("catalog.menu.snapshot.build");
+        this.snapshotQueries = registry.counter("catalog.menu.query", "source", "snapshot");
+        this.databaseQueries = registry.counter("catalog.menu.query", "source", "database");
+        CaffeineCacheMetrics.monitor(registry, snapshots, "menuSnapshots");
+        Gauge.builder("catalog.menu.snapshot.bytes", snapshots,
+                        cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    // menuRevision must be read before the menu itself, so a snapshot never claims a newer revision than its items.
+    // The menu is loaded and serialized outside the cache, whose map functions run under a lock shared with other
+    // keys; concurrent misses may each build one, and the newest revision is the one kept.
+    public MenuSnapshotDTO getSnapshot(Integer restaurantId, long menuRevision) {
+        MenuSnapshotDTO snapshot = snapshots.getIfPresent(restaurantId);
+        if (snapshot != null && snapshot.revision() >= menuRevision) {
+            return snapshot;
+        }
+        MenuSnapshotDTO built = build(menuRevision, restaurantService.getAllMenuItemsByRestaurantId(restaurantId));
+        return snapshots.asMap().merge(restaurantId, built,
+                (current, candidate) -> current.revision() >= candidate.revision() ? current : candidate);
+    }
+
+    // filtered menu queries are answered from the price index of a current snapshot and pushed down to SQL
+    // otherwise; a miss does not build a snapshot, since a filtered read only needs part of the menu
+    public List<MenuItemSummaryDTO> findMenuItems(Integer restaurantId, MenuQueryDTO query) {
+        long menuRevision = restaurantService.findMenuRevision(restaurantId)
+                .orElseThrow(() -> new RestaurantDoesNotExistException("restaurant does not exist"));
+        MenuSnapshotDTO snapshot = snapshots.getIfPresent(restaurantId);
+        if (snapshot == null || snapshot.revision() < menuRevision) {
+            databaseQueries.increment();
+            return restaurantService.findMenuItems(restaurantId, query);
+        }
+        snapshotQueries.increment();
+        List<MenuItemSummaryDTO> inRange = snapshot.prices().range(query.minPrice(), query.maxPrice());
+        if (query.sortByPrice()) {
+            return List.copyOf(inRange.subList(0, Math.min(query.limit(), inRange.size())));
+        }
+        return inRange.stream()
+                .sorted(Comparator.comparing(MenuItemSummaryDTO::id))
+                .limit(query.limit())
+                .toList();
+    }
+
+    // applies the newly assigned items to the snapshot one revision behind instead of re-reading the menu;
+    // items already present are skipped in case the snapshot was built after the commit.
+    // A snapshot further behind missed an assignment and is dropped. The new snapshot is built outside the
+    // cache and only installed if the one it was built from is still there.
+    @TransactionalEventListener
+    public void onMenuItemsAssigned(MenuItemsAssignedEvent event) {
+        Integer restaurantId = event.restaurantId();
+        MenuSnapshotDTO snapshot = snapshots.getIfPresent(restaurantId);
+        if (snapshot == null || snapshot.revision() >= event.menuRevision()) {
+            return;
+        }
+        MenuSnapshotDTO updated = null;
+        if (snapshot.revision() == event.menuRevision() - 1) {
+            Set<Integer> present = new HashSet<>();
+            snapshot.items().forEach(item -> present.add(item.id()));
+            List<MenuItemSummaryDTO> items = new ArrayList<>(snapshot.items());
+            for (MenuItemSummaryDTO menuItem : event.menuItems()) {
+                if (present.add(menuItem.id())) {
+                    items.add(menuItem);
+                }
+            }
+            updated = build(event.menuRevision(), items);
+        }
+        MenuSnapshotDTO replacement = updated;
+        snapshots.asMap().computeIfPresent(restaurantId, (id, current) -> current == snapshot ? replacement : current);
+    }
+
+    private MenuSnapshotDTO build(long revision, List<MenuItemSummaryDTO> items) {
+        return buildTimer.record(() -> serialize(revision, items));
+    }
+
+    private MenuSnapshotDTO serialize(long revision, List<MenuItemSummaryDTO> items) {
+        try {
+            List<MenuItemSummaryDTO> menu = List.copyOf(items);
+            byte[] json = objectMapper.writeValueAsBytes(new ResponseDTO<>(HttpStatus.OK.value(), menu));
+            return new MenuSnapshotDTO(revision, menu, json, gzipEnabled ? compressionService.gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("could not serialize menu snapshot", e);
+        }
+    }
+}
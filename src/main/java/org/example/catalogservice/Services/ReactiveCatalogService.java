@@ -0,0 +1,66 @@
+package org.example.catalogservice.Services;
+
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.Exceptions.InvalidPageRequestException;
+import org.example.catalogservice.Exceptions.MenuItemDoesNotExistException;
+import org.example.catalogservice.Exceptions.RestaurantDoesNotExistException;
+import org.example.catalogservice.Exceptions.RestaurantDoesNotOwnMenuItemException;
+import org.example.catalogservice.Repositories.ReactiveCatalogRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Read-only counterpart of RestaurantService's lookups with the same validation and errors;
+// all writes still go through RestaurantService and MenuItemService
+@Service
+public class ReactiveCatalogService {
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ReactiveCatalogRepository reactiveCatalogRepository;
+
+    public ReactiveCatalogService(ReactiveCatalogRepository reactiveCatalogRepository) {
+        this.reactiveCatalogRepository = reactiveCatalogRepository;
+    }
+
+    // The streamed lists are checked before they are handed out: once the first NDJSON line is written the
+    // status is committed, so a missing restaurant has to fail the Mono rather than the Flux inside it
+    public Mono<Flux<RestaurantSummaryDTO>> findAllRestaurants(Integer after, int limit) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new InvalidPageRequestException("limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        Flux<RestaurantSummaryDTO> restaurants = reactiveCatalogRepository.findRestaurantsAfter(
+                after == null ? 0 : after, limit);
+        if (after != null) {
+            return Mono.just(restaurants);
+        }
+        return reactiveCatalogRepository.existsAnyRestaurant()
+                .flatMap(exists -> exists
+                        ? Mono.just(restaurants)
+                        : Mono.error(new RestaurantDoesNotExistException("no restaurants found")));
+    }
+
+    public Mono<RestaurantSummaryDTO> findById(Integer restaurantId) {
+        return reactiveCatalogRepository.findRestaurantById(restaurantId)
+                .switchIfEmpty(Mono.error(() -> new RestaurantDoesNotExistException("restaurant does not exist")));
+    }
+
+    public Mono<Flux<MenuItemSummaryDTO>> getAllMenuItemsByRestaurantId(Integer restaurantId) {
+        return reactiveCatalogRepository.existsMenuByRestaurantId(restaurantId)
+                .flatMap(hasMenu -> hasMenu
+                        ? Mono.just(reactiveCatalogRepository.findMenuByRestaurantId(restaurantId))
+                        : reactiveCatalogRepository.existsRestaurantById(restaurantId)
+                                .flatMap(exists -> Mono.error(exists
+                                        ? new MenuItemDoesNotExistException("no menu items found for this restaurant")
+                                        : new RestaurantDoesNotExistException("restaurant does not exist"))));
+    }
+
+    public Mono<MenuItemSummaryDTO> getSelectedMenuItemByRestaurantId(Integer restaurantId, Integer menuItemId) {
+        return reactiveCatalogRepository.findMenuItemByRestaurantId(restaurantId, menuItemId)
+                .switchIfEmpty(Mono.defer(() -> reactiveCatalogRepository.existsRestaurantById(restaurantId))
+                        .flatMap(exists -> Mono.error(exists
+                                ? new RestaurantDoesNotOwnMenuItemException(
+                                        "Restaurant does not own the menu item with id: " + menuItemId)
+                                : new RestaurantDoesNotExistException("restaurant does not exist"))));
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.catalogservice.Services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.catalogservice.DTO.PageResponseDTO;
+import org.example.catalogservice.DTO.ResponseSnapshotDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.Events.CatalogChangesRecordedEvent;
+import org.example.catalogservice.Models.CatalogChange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps GET /restaurants pages as ready-to-send JSON and gzip bytes. Restaurants are never updated or deleted,
+// so a page can only change when one is created; every page is dropped after such a commit. The expiry covers
+// creations committed on other instances.
+@Service
+@Timed("catalog.service")
+public class RestaurantPageSnapshotService {
+    private final RestaurantService restaurantService;
+    private final ObjectMapper objectMapper;
+    private final CompressionService compressionService;
+    private final Cache<PageKey, ResponseSnapshotDTO> pages;
+    // bumped on every invalidation, so a page read from the database before a creation committed is not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    public RestaurantPageSnapshotService(RestaurantService restaurantService, ObjectMapper objectMapper,
+                                         CompressionService compressionService, MeterRegistry registry,
+                                         @Value("${catalog.restaurant-pages.max-bytes:16777216}") long maxBytes,
+                                         @Value("${catalog.restaurant-pages.expire-after-write:PT1M}") Duration expireAfterWrite) {
+        this.restaurantService = restaurantService;
+        this.objectMapper = objectMapper;
+        this.compressionService = compressionService;
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((PageKey key, ResponseSnapshotDTO page) -> page.size())
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, pages, "restaurantPages");
+    }
+
+    public PageResponseDTO<RestaurantSummaryDTO> findPage(Integer after, int limit) {
+        List<RestaurantSummaryDTO> restaurants = restaurantService.findAllRestaurants(after, limit);
+        Integer nextCursor = restaurants.size() == limit ? restaurants.get(restaurants.size() - 1).id() : null;
+        return new PageResponseDTO<>(HttpStatus.OK.value(), restaurants, nextCursor);
+    }
+
+    public ResponseSnapshotDTO getPage(Integer after, int limit) {
+        PageKey key = new PageKey(after, limit);
+        ResponseSnapshotDTO page = pages.getIfPresent(key);
+        if (page != null) {
+            return page;
+        }
+        long readGeneration = generation.get();
+        page = serialize(findPage(after, limit));
+        pages.put(key, page);
+        if (generation.get() != readGeneration) {
+            pages.invalidate(key);
+        }
+        return page;
+    }
+
+    @TransactionalEventListener
+    public void onChangesRecorded(CatalogChangesRecordedEvent event) {
+        if (event.type() == CatalogChange.ChangeType.RESTAURANT_CREATED) {
+            generation.incrementAndGet();
+            pages.invalidateAll();
+        }
+    }
+
+    private ResponseSnapshotDTO serialize(PageResponseDTO<RestaurantSummaryDTO> page) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(page);
+            return new ResponseSnapshotDTO(json, compressionService.gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("could not serialize restaurant page", e);
+        }
+    }
+
+    private record PageKey(Integer after, int limit) {
+    }
+}
@@ -1,36 +1,120 @@
 package org.example.catalogservice.Services;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
-import org.example.catalogservice.DTO.GETResponseDTO;
+import org.example.catalogservice.Config.CacheConfig;
+import org.example.catalogservice.DTO.BulkInsertResultDTO;
+import org.example.catalogservice.DTO.LookupResultDTO;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.MenuQueryDTO;
+import org.example.catalogservice.DTO.RequestDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.Events.MenuItemsAssignedEvent;
+import org.example.catalogservice.Events.RestaurantsCreatedEvent;
 import org.example.catalogservice.Exceptions.*;
+import org.example.catalogservice.Models.CatalogChange;
 import org.example.catalogservice.Models.MenuItem;
 import org.example.catalogservice.Models.Restaurant;
+import org.example.catalogservice.Repositories.RestaurantJdbcRepository;
+import org.example.catalogservice.Repositories.RestaurantMenuItemRepository;
 import org.example.catalogservice.Repositories.RestaurantRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("catalog.service")
 public class RestaurantService {
+    private static final int MAX_PAGE_SIZE = 1000;
+
     @Autowired
     private RestaurantRepository restaurantRepository;
     @Autowired
+    private RestaurantMenuItemRepository restaurantMenuItemRepository;
+    @Autowired
+    private RestaurantJdbcRepository restaurantJdbcRepository;
+    @Autowired
     private MenuItemService menuItemService;
+    @Autowired
+    private CatalogChangeService catalogChangeService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Value("${catalog.bulk.batch-size:500}")
+    private int batchSize;
 
     public String addRestaurant(String name, String address) {
         try {
-            restaurantRepository.save(new Restaurant(name, address));
+            transactionTemplate.executeWithoutResult(status -> {
+                Restaurant restaurant = restaurantRepository.save(new Restaurant(name, address));
+                catalogChangeService.record(CatalogChange.ChangeType.RESTAURANT_CREATED, restaurant.getId(), null);
+                eventPublisher.publishEvent(new RestaurantsCreatedEvent(List.of(
+                        new RestaurantSummaryDTO(restaurant.getId(), restaurant.getName(), restaurant.getAddress()))));
+            });
             return "restaurant added successfully";
         } catch (DataIntegrityViolationException e) {
             throw new RestaurantDetailsAlreadyAddedException("restaurant details already added");
         }
     }
 
+    public BulkInsertResultDTO addRestaurants(Iterator<RequestDTO> requests) {
+        BulkInsertResultDTO result = new BulkInsertResultDTO();
+        List<PendingRestaurant> batch = new ArrayList<>(batchSize);
+        int row = 0;
+        while (true) {
+            RequestDTO request;
+            try {
+                if (!requests.hasNext()) {
+                    break;
+                }
+                request = requests.next();
+            } catch (MalformedBulkRowException e) {
+                // same as MenuItemService.addMenuItems: earlier batches are committed, report how far the payload got
+                result.truncate(row, e.getMessage());
+                break;
+            }
+            try {
+                batch.add(new PendingRestaurant(row, new Restaurant(request.getName(), request.getAddress())));
+            } catch (CannotCreateRestaurantException e) {
+                result.reject(row, e.getMessage());
+            }
+            row++;
+            if (batch.size() >= batchSize) {
+                insertBatch(batch, result);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(batch, result);
+        }
+        result.setReceived(row);
+        return result;
+    }
+
+    // the cache holds immutable summaries; entities, with their lazy menu, are always loaded fresh
+    @Cacheable(CacheConfig.RESTAURANTS)
+    public RestaurantSummaryDTO findSummaryById(Integer id) {
+        return restaurantRepository.findSummaryById(id)
+                .orElseThrow(() -> new RestaurantDoesNotExistException("restaurant does not exist"));
+    }
+
     public Restaurant findById(Integer id) {
         Restaurant restaurant = restaurantRepository.findById(id).orElse(null);
         if (restaurant != null) {
@@ -39,18 +123,29 @@ public class RestaurantService {
         throw new RestaurantDoesNotExistException("restaurant does not exist");
     }
 
-    public List<Restaurant> findAllRestaurants() {
-        List<Restaurant> restaurants = restaurantRepository.findAll();
-        if (restaurants.isEmpty()) {
+    public List<RestaurantSummaryDTO> findAllRestaurants(Integer after, int limit) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<RestaurantSummaryDTO> restaurants = restaurantRepository.findSummariesAfter(
+                after == null ? 0 : after, Limit.of(limit));
+        if (restaurants.isEmpty() && after == null) {
             throw new RestaurantDoesNotExistException("no restaurants found");
         }
-        return restaurantRepository.findAll();
+        return restaurants;
+    }
+
+    // one IN query for the whole batch, same contract as MenuItemService.lookupSummaries
+    public List<LookupResultDTO<RestaurantSummaryDTO>> lookupSummaries(List<Integer> ids) {
+        MenuItemService.checkLookupSize(ids);
+        Map<Integer, RestaurantSummaryDTO> restaurants = restaurantRepository.findSummariesByIdIn(new HashSet<>(ids)).stream()
+                .collect(Collectors.toMap(RestaurantSummaryDTO::id, Function.identity()));
+        return ids.stream().map(id -> LookupResultDTO.of(id, restaurants.get(id))).toList();
     }
 
     @Transactional
     public String assignMenuItemToRestaurant(int restaurantId, String menuItemIds) {
-        Restaurant restaurant = findById(restaurantId);
-        if (restaurant == null) {
+        if (restaurantRepository.incrementMenuRevision(restaurantId) == 0) {
             throw new RestaurantDoesNotExistException("restaurant does not exist");
         }
 
@@ -58,57 +153,98 @@ public class RestaurantService {
                 .map(String::trim)
                 .filter(id -> !id.isEmpty())
                 .map(Integer::parseInt)
+                .distinct()
                 .collect(Collectors.toList());
 
-        List<MenuItem> menuItems = menuItemService.findAllById(menuItemIdList);
+        List<MenuItemSummaryDTO> menuItems = menuItemService.findSummariesById(menuItemIdList);
 
-        for (MenuItem menuItem : menuItems) {
-            if (restaurant.getMenu().contains(menuItem)) {
-                throw new MenuItemAlreadyAssignedException("menu item already assigned to restaurant");
-            }
+        Set<Integer> assignedMenuItemIds = restaurantMenuItemRepository.findAssignedMenuItemIds(restaurantId, menuItemIdList);
+        if (!assignedMenuItemIds.isEmpty()) {
+            throw new MenuItemAlreadyAssignedException("menu item already assigned to restaurant");
         }
 
-        restaurant.getMenu().addAll(menuItems);
-        restaurantRepository.save(restaurant);
+        restaurantMenuItemRepository.assignMenuItems(restaurantId, menuItemIdList);
+        long menuRevision = restaurantRepository.findMenuRevisionById(restaurantId).orElseThrow();
+        eventPublisher.publishEvent(new MenuItemsAssignedEvent(restaurantId, menuRevision, menuItems));
+        catalogChangeService.record(CatalogChange.ChangeType.MENU_CHANGED, restaurantId, menuRevision);
 
         return "menu items assigned to restaurant successfully";
     }
 
-    public List<MenuItem> getAllMenuItemsByRestaurantId(Integer restaurantId) {
-        Restaurant restaurant = findById(restaurantId);
-        if (restaurant.getMenu().isEmpty()) {
-            throw new MenuItemDoesNotExistException("no menu items found for this restaurant");
-        }
-        return restaurant.getMenu();
+    // version lookups for conditional GETs, answered without loading the restaurant or its menu
+    public Optional<Long> findVersion(Integer restaurantId) {
+        return restaurantRepository.findVersionById(restaurantId);
     }
 
-    public MenuItem getSelectedMenuItemByRestaurantId(Integer restaurantId, Integer menuItemId) {
-        Restaurant restaurant = findById(restaurantId);
-        List<MenuItem> restaurantMenu = restaurant.getMenu();
+    public Optional<Long> findMenuRevision(Integer restaurantId) {
+        return restaurantRepository.findMenuRevisionById(restaurantId);
+    }
+
+    public Optional<Long> findMenuItemVersion(Integer restaurantId, Integer menuItemId) {
+        return restaurantRepository.findMenuItemVersionByRestaurantId(restaurantId, menuItemId);
+    }
 
-        for (MenuItem menuItem : restaurantMenu) {
-            if (menuItem.getId().equals(menuItemId)) {
-                return menuItem;
+    public List<MenuItemSummaryDTO> getAllMenuItemsByRestaurantId(Integer restaurantId) {
+        List<MenuItemSummaryDTO> menu = restaurantRepository.findMenuSummariesByRestaurantId(restaurantId);
+        if (menu.isEmpty()) {
+            if (!restaurantRepository.existsById(restaurantId)) {
+                throw new RestaurantDoesNotExistException("restaurant does not exist");
             }
+            throw new MenuItemDoesNotExistException("no menu items found for this restaurant");
         }
+        return menu;
+    }
 
+    // an empty list is a valid answer here, only a missing restaurant is an error
+    public List<MenuItemSummaryDTO> findMenuItems(Integer restaurantId, MenuQueryDTO query) {
+        Limit limit = Limit.of(query.limit());
+        List<MenuItemSummaryDTO> menu = query.sortByPrice()
+                ? restaurantRepository.findMenuSummariesByPrice(restaurantId, query.minPrice(), query.maxPrice(), limit)
+                : restaurantRepository.findMenuSummariesInPriceRange(restaurantId, query.minPrice(), query.maxPrice(), limit);
+        if (menu.isEmpty() && !restaurantRepository.existsById(restaurantId)) {
+            throw new RestaurantDoesNotExistException("restaurant does not exist");
+        }
+        return menu;
+    }
+
+    public MenuItem getSelectedMenuItemByRestaurantId(Integer restaurantId, Integer menuItemId) {
+        MenuItem menuItem = restaurantRepository.findMenuItemByRestaurantId(restaurantId, menuItemId).orElse(null);
+        if (menuItem != null) {
+            return menuItem;
+        }
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new RestaurantDoesNotExistException("restaurant does not exist");
+        }
         throw new RestaurantDoesNotOwnMenuItemException("Restaurant does not own the menu item with id: " + menuItemId);
     }
 
-    public GETResponseDTO convertToDtoRestaurant(Restaurant restaurant) {
-        GETResponseDTO dto = new GETResponseDTO();
-        dto.setId(restaurant.getId());
-        dto.setName(restaurant.getName());
-        dto.setAddress(Optional.of(restaurant.getAddress()));
-        return dto;
+    public RestaurantSummaryDTO convertToDtoRestaurant(Restaurant restaurant) {
+        return new RestaurantSummaryDTO(restaurant.getId(), restaurant.getName(), restaurant.getAddress());
     }
 
-    public GETResponseDTO convertToDtoMenuItem(MenuItem menuItem) {
-        GETResponseDTO dto = new GETResponseDTO();
-        dto.setId(menuItem.getId());
-        dto.setName(menuItem.getName());
-        dto.setPrice(Optional.of(menuItem.getPrice()));
-        return dto;
+    private void insertBatch(List<PendingRestaurant> batch, BulkInsertResultDTO result) {
+        List<Restaurant> restaurants = batch.stream().map(PendingRestaurant::restaurant).toList();
+        List<RestaurantSummaryDTO> inserted = transactionTemplate.execute(status -> {
+            List<RestaurantSummaryDTO> created = restaurantJdbcRepository.insertIgnoringDuplicates(restaurants);
+            catalogChangeService.recordAll(CatalogChange.ChangeType.RESTAURANT_CREATED,
+                    created.stream().map(RestaurantSummaryDTO::id).toList());
+            eventPublisher.publishEvent(new RestaurantsCreatedEvent(created));
+            return created;
+        });
+        // each inserted (name, address) pair is claimed by its first row in the batch, any other row was a duplicate
+        Set<List<String>> unclaimed = inserted.stream()
+                .map(restaurant -> List.of(restaurant.name(), restaurant.address()))
+                .collect(Collectors.toCollection(HashSet::new));
+        for (PendingRestaurant pending : batch) {
+            Restaurant restaurant = pending.restaurant();
+            if (unclaimed.remove(List.of(restaurant.getName(), restaurant.getAddress()))) {
+                result.addCreated(1);
+            } else {
+                result.reject(pending.row(), "restaurant details already added");
+            }
+        }
     }
-}
 
+    private record PendingRestaurant(int row, Restaurant restaurant) {
+    }
+}
\ No newline at end of file
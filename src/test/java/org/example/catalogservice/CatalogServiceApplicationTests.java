@@ -1,13 +1,54 @@
 package org.example.catalogservice;
 
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.PlatformTransactionManager;
 
-@SpringBootTest
+import static org.junit.jupiter.api.Assertions.*;
+
+// boots the whole application on H2 (PostgreSQL mode) with both the JDBC and the R2DBC side configured,
+// the way the benchmarks and the load test run it
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog-context;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///catalog-context?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password="
+})
 class CatalogServiceApplicationTests {
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DatabaseClient databaseClient;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Test
     void contextLoads() {
+        assertNotNull(entityManagerFactory);
+        assertInstanceOf(JpaTransactionManager.class, transactionManager);
     }
 
+    @Test
+    void testJdbcAndR2dbcReachTheSameSchema() {
+        jdbcTemplate.update("insert into restaurants (name, address) values ('Pizza Place', '123 Main St')");
+
+        Long restaurants = databaseClient.sql("select count(*) as restaurants from restaurants")
+                .map(row -> row.get("restaurants", Long.class))
+                .one()
+                .block();
+
+        assertEquals(1L, restaurants);
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from restaurants", Integer.class));
+    }
 }
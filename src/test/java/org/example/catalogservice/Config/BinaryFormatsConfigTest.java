@@ -0,0 +1,76 @@
+package org.example.catalogservice.Config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the binary formats are only chosen when asked for; everything else, error bodies included, stays JSON
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog-query-count;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///catalog-query-count?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password="
+})
+@AutoConfigureMockMvc
+class BinaryFormatsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into restaurants (name, address) values ('Noodle Bar', '8 Formats Lane') on conflict do nothing");
+        restaurantId = jdbcTemplate.queryForObject("select id from restaurants where name = 'Noodle Bar'", Integer.class);
+    }
+
+    @Test
+    void testRequestWithoutAcceptHeaderGetsJson() throws Exception {
+        mockMvc.perform(get("/restaurants/{id}", restaurantId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.name").value("Noodle Bar"));
+    }
+
+    @Test
+    void testAnyMediaTypeGetsJson() throws Exception {
+        mockMvc.perform(get("/restaurants/{id}", restaurantId).header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testErrorBodyWithoutAcceptHeaderIsJson() throws Exception {
+        mockMvc.perform(get("/restaurants/{id}", Integer.MAX_VALUE))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.statusCode").value(404));
+    }
+
+    @Test
+    void testCborAndSmileAreServedWhenAskedFor() throws Exception {
+        mockMvc.perform(get("/restaurants/{id}", restaurantId).header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        mockMvc.perform(get("/restaurants/{id}", restaurantId).header(HttpHeaders.ACCEPT, "application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryFormatsConfig.APPLICATION_SMILE));
+    }
+}
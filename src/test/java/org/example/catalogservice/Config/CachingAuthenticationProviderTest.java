@@ -0,0 +1,93 @@
+package org.example.catalogservice.Config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CachingAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(delegate.authenticate(any())).thenAnswer(invocation -> {
+            Authentication request = invocation.getArgument(0);
+            if (!"password".equals(request.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(
+                    request.getName(), null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        });
+    }
+
+    @Test
+    void testRepeatedCredentialsAreServedFromCache() {
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, Duration.ofMinutes(5), 10);
+
+        Authentication first = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "password"));
+        Authentication second = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "password"));
+
+        assertTrue(first.isAuthenticated());
+        assertTrue(second.isAuthenticated());
+        assertEquals("admin", second.getName());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")), List.copyOf(second.getAuthorities()));
+        assertEquals(1, provider.getCacheHits());
+        assertEquals(1, provider.getCacheMisses());
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    void testWrongPasswordIsNeverCached() {
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, Duration.ofMinutes(5), 10);
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "password"));
+
+        assertThrows(BadCredentialsException.class, () -> {
+            provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "wrong"));
+        });
+        assertThrows(BadCredentialsException.class, () -> {
+            provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "wrong"));
+        });
+
+        assertEquals(2, provider.getFailures());
+        assertEquals(1, provider.size());
+        verify(delegate, times(3)).authenticate(any());
+    }
+
+    @Test
+    void testExpiredEntryIsVerifiedAgain() {
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, Duration.ZERO, 10);
+
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "password"));
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "password"));
+
+        assertEquals(0, provider.getCacheHits());
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void testCacheDoesNotGrowPastMaxEntries() {
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, Duration.ofMinutes(5), 1);
+        doAnswer(invocation -> UsernamePasswordAuthenticationToken.authenticated(
+                ((Authentication) invocation.getArgument(0)).getName(), null, List.of())).when(delegate).authenticate(any());
+
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "password"));
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("other", "password"));
+
+        assertEquals(1, provider.size());
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.catalogservice.Config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.catalogservice.Exceptions.DatabaseBusyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DbAdmissionDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testPermitIsHeldUntilTheConnectionIsClosed() throws SQLException {
+        DbAdmissionGate gate = gate(1);
+        DbAdmissionDataSource dataSource = new DbAdmissionDataSource(targetDataSource, gate);
+
+        Connection first = dataSource.getConnection();
+        assertEquals(0.0, registry.get("catalog.db.gate.available").gauge().value());
+        assertThrows(DatabaseBusyException.class, dataSource::getConnection);
+
+        first.close();
+        first.close();
+        assertEquals(1.0, registry.get("catalog.db.gate.available").gauge().value());
+        dataSource.getConnection().close();
+
+        verify(connection, times(3)).close();
+        verify(targetDataSource, times(2)).getConnection();
+        assertEquals(1.0, registry.get("catalog.db.gate.available").gauge().value());
+    }
+
+    @Test
+    void testCheckoutIsRejectedWithoutAskingThePool() throws SQLException {
+        DbAdmissionDataSource dataSource = new DbAdmissionDataSource(targetDataSource, gate(0));
+
+        assertThrows(DatabaseBusyException.class, dataSource::getConnection);
+
+        verify(targetDataSource, never()).getConnection();
+    }
+
+    @Test
+    void testFailedCheckoutGivesThePermitBack() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        DbAdmissionDataSource dataSource = new DbAdmissionDataSource(targetDataSource, gate(1));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertEquals(1.0, registry.get("catalog.db.gate.available").gauge().value());
+    }
+
+    @Test
+    void testOtherCallsReachTheConnection() throws SQLException {
+        DbAdmissionDataSource dataSource = new DbAdmissionDataSource(targetDataSource, gate(1));
+        when(connection.getAutoCommit()).thenReturn(true);
+
+        try (Connection checkedOut = dataSource.getConnection()) {
+            assertTrue(checkedOut.getAutoCommit());
+            assertEquals(checkedOut, checkedOut);
+        }
+    }
+
+    private DbAdmissionGate gate(int permits) {
+        DbAdmissionGate gate = new DbAdmissionGate(permits, Duration.ofMillis(10), 10);
+        gate.bindTo(registry);
+        return gate;
+    }
+}
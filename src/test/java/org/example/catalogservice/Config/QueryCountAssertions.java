@@ -0,0 +1,39 @@
+package org.example.catalogservice.Config;
+
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Pins the number of JDBC statements an action runs on the calling thread, e.g. a MockMvc request
+// against a context whose DataSource is wrapped by QueryCountConfig:
+//     assertStatementCount(2, () -> mockMvc.perform(get("/restaurants/1/menu-items")));
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static <T> T assertStatementCount(int expected, ThrowingSupplier<T> action) throws Throwable {
+        QueryCounter.start();
+        try {
+            T result = action.get();
+            assertEquals(expected, QueryCounter.current().getStatements(), "unexpected number of SQL statements");
+            return result;
+        } finally {
+            QueryCounter.stop();
+        }
+    }
+
+    public static <T> T assertNoRepeatedStatements(int threshold, ThrowingSupplier<T> action) throws Throwable {
+        QueryCounter.start();
+        try {
+            T result = action.get();
+            QueryStats stats = QueryCounter.current();
+            assertTrue(stats.getRepeatedStatements(threshold).isEmpty(),
+                    () -> "statements repeated at least " + threshold + " times: " + stats.getRepeatedStatements(threshold));
+            return result;
+        } finally {
+            QueryCounter.stop();
+        }
+    }
+}
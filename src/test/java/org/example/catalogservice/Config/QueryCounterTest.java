@@ -0,0 +1,88 @@
+package org.example.catalogservice.Config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.example.catalogservice.Config.QueryCountAssertions.assertNoRepeatedStatements;
+import static org.example.catalogservice.Config.QueryCountAssertions.assertStatementCount;
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCounterTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:query-counter;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(ProxyDataSourceBuilder.create(h2).listener(new QueryCounter()).build());
+        jdbcTemplate.execute("create table if not exists menu_items (id int primary key, name varchar(50))");
+        jdbcTemplate.execute("delete from menu_items");
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryCounter.stop();
+    }
+
+    @Test
+    void testStatementsAreCountedOnlyWhileStarted() {
+        jdbcTemplate.queryForList("select id from menu_items", Integer.class);
+
+        QueryCounter.start();
+        jdbcTemplate.update("insert into menu_items (id, name) values (1, 'Pizza')");
+        jdbcTemplate.queryForList("select id from menu_items", Integer.class);
+        QueryStats stats = QueryCounter.stop();
+
+        assertEquals(2, stats.getStatements());
+        assertEquals(0, QueryCounter.current().getStatements());
+    }
+
+    @Test
+    void testNestedScopesAlsoCountTowardsOuterScope() {
+        QueryCounter.start();
+        jdbcTemplate.queryForList("select id from menu_items", Integer.class);
+        QueryCounter.start();
+        jdbcTemplate.queryForList("select name from menu_items", String.class);
+        QueryStats inner = QueryCounter.stop();
+        QueryStats outer = QueryCounter.stop();
+
+        assertEquals(1, inner.getStatements());
+        assertEquals(2, outer.getStatements());
+    }
+
+    @Test
+    void testBatchCountsAsOneStatement() throws Throwable {
+        assertStatementCount(1, () -> jdbcTemplate.batchUpdate("insert into menu_items (id, name) values (?, ?)",
+                List.of(new Object[]{1, "Pizza"}, new Object[]{2, "Burger"}, new Object[]{3, "Pasta"})));
+    }
+
+    @Test
+    void testRepeatedStatementsAreReported() {
+        QueryCounter.start();
+        for (int id = 0; id < 5; id++) {
+            jdbcTemplate.queryForList("select name from menu_items where id = ?", String.class, id);
+        }
+        QueryStats stats = QueryCounter.stop();
+
+        assertEquals(Map.of("select name from menu_items where id = ?", 5), stats.getRepeatedStatements(5));
+        assertTrue(stats.getRepeatedStatements(6).isEmpty());
+    }
+
+    @Test
+    void testAssertNoRepeatedStatementsFailsOnNPlusOne() {
+        assertThrows(AssertionError.class, () -> assertNoRepeatedStatements(3, () -> {
+            for (int id = 0; id < 3; id++) {
+                jdbcTemplate.queryForList("select name from menu_items where id = ?", String.class, id);
+            }
+            return null;
+        }));
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.catalogservice.Config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.ResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimedBinaryJacksonHttpMessageConverterTest {
+
+    private SimpleMeterRegistry registry;
+    private TimedBinaryJacksonHttpMessageConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        converter = new TimedBinaryJacksonHttpMessageConverter(new ObjectMapper(new CBORFactory()),
+                MediaType.APPLICATION_CBOR, "cbor", registry);
+    }
+
+    @Test
+    void testWritesCborAndIsTimedByFormat() throws IOException {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+        converter.write(new ResponseDTO<>(200, List.of(new MenuItemSummaryDTO(1, "Pizza", 100))),
+                MediaType.APPLICATION_CBOR, outputMessage);
+
+        JsonNode body = new ObjectMapper(new CBORFactory()).readTree(outputMessage.getBodyAsBytes());
+        assertEquals(100, body.get("data").get(0).get("price").asInt());
+        assertEquals(MediaType.APPLICATION_CBOR, outputMessage.getHeaders().getContentType());
+        assertEquals(1, registry.get("catalog.serialization").tag("format", "cbor").timer().count());
+    }
+
+    @Test
+    void testOnlyHandlesItsOwnMediaType() {
+        assertTrue(converter.canWrite(ResponseDTO.class, MediaType.APPLICATION_CBOR));
+        assertFalse(converter.canWrite(ResponseDTO.class, MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.catalogservice.Config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.catalogservice.DTO.ResponseDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimedJackson2HttpMessageConverterTest {
+
+    private SimpleMeterRegistry registry;
+    private TimedJackson2HttpMessageConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        converter = new TimedJackson2HttpMessageConverter(new ObjectMapper(), registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testWriteIsTimedPerRoute() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/restaurants/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/restaurants/{restaurantId}");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+        converter.write(new ResponseDTO<>(200, "ok"), MediaType.APPLICATION_JSON, outputMessage);
+
+        assertEquals("{\"statusCode\":200,\"data\":\"ok\"}", outputMessage.getBodyAsString());
+        Timer timer = registry.get("catalog.serialization")
+                .tag("uri", "/restaurants/{restaurantId}")
+                .tag("format", "json")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void testWriteOutsideRequestIsTimedAsUnknown() throws IOException {
+        converter.write(new ResponseDTO<>(200, "ok"), MediaType.APPLICATION_JSON, new MockHttpOutputMessage());
+
+        assertEquals(1, registry.get("catalog.serialization").tag("uri", "UNKNOWN").timer().count());
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.catalogservice.Controllers;
+
+import org.example.catalogservice.DTO.CatalogChangeDTO;
+import org.example.catalogservice.DTO.ResponseDTO;
+import org.example.catalogservice.Exceptions.CustomExceptionHandler;
+import org.example.catalogservice.Exceptions.InvalidPageRequestException;
+import org.example.catalogservice.Models.CatalogChange;
+import org.example.catalogservice.Services.CatalogChangeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ChangeControllerTest {
+    private MockMvc mockMvc;
+
+    @Mock
+    private CatalogChangeService catalogChangeService;
+
+    @InjectMocks
+    private ChangeController changeController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(changeController)
+                .setControllerAdvice(new CustomExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void testGetChangesReturnsChangesInOrder() throws Exception {
+        DeferredResult<ResponseDTO<List<CatalogChangeDTO>>> deferred = new DeferredResult<>();
+        deferred.setResult(new ResponseDTO<>(200, List.of(
+                new CatalogChangeDTO(42, CatalogChange.ChangeType.MENU_CHANGED, 4, 7L, Instant.parse("2024-01-01T00:00:00Z")))));
+        when(catalogChangeService.awaitChanges(41, 100, Duration.ofSeconds(10))).thenReturn(deferred);
+
+        MvcResult result = mockMvc.perform(get("/changes").param("since", "41").param("wait", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].sequence").value(42))
+                .andExpect(jsonPath("$.data[0].type").value("MENU_CHANGED"))
+                .andExpect(jsonPath("$.data[0].id").value(4))
+                .andExpect(jsonPath("$.data[0].revision").value(7));
+    }
+
+    @Test
+    void testGetChangesInvalidLimit() throws Exception {
+        when(catalogChangeService.awaitChanges(0, 0, Duration.ofSeconds(30)))
+                .thenThrow(new InvalidPageRequestException("limit must be between 1 and 1000"));
+
+        mockMvc.perform(get("/changes").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.data").value("limit must be between 1 and 1000"));
+    }
+}
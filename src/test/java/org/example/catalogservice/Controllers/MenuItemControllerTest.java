@@ -1,25 +1,36 @@
 package org.example.catalogservice.Controllers;
 
-import org.example.catalogservice.DTO.GETResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.catalogservice.DTO.BulkInsertResultDTO;
+import org.example.catalogservice.DTO.LookupResultDTO;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.RequestDTO;
 import org.example.catalogservice.Exceptions.*;
-import org.example.catalogservice.Models.MenuItem;
 import org.example.catalogservice.Services.MenuItemService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,6 +46,7 @@ class MenuItemControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(menuItemController, "objectMapper", new ObjectMapper());
         mockMvc = MockMvcBuilders.standaloneSetup(menuItemController)
                 .setControllerAdvice(new CustomExceptionHandler())
                 .build();
@@ -87,18 +99,9 @@ class MenuItemControllerTest {
 
     @Test
     void testGetAllMenuItemsSuccess() throws Exception {
-        MenuItem menuItem = mock(MenuItem.class);
-        when(menuItem.getId()).thenReturn(1);
-        when(menuItem.getName()).thenReturn("Margherita Pizza");
-        when(menuItem.getPrice()).thenReturn(80);
+        MenuItemSummaryDTO menuItem = new MenuItemSummaryDTO(1, "Margherita Pizza", 80);
 
-        GETResponseDTO responseDTO = new GETResponseDTO();
-        responseDTO.setId(1);
-        responseDTO.setName("Margherita Pizza");
-        responseDTO.setPrice(Optional.of(80));
-
-        when(menuItemService.findAllMenuItems()).thenReturn(List.of(menuItem));
-        when(menuItemService.convertToDto(menuItem)).thenReturn(responseDTO);
+        when(menuItemService.findAllMenuItems(null, 100)).thenReturn(List.of(menuItem));
 
         mockMvc.perform(get("/menu-items")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -106,14 +109,15 @@ class MenuItemControllerTest {
                 .andExpect(jsonPath("$.statusCode").value(200))
                 .andExpect(jsonPath("$.data[0].id").value(1))
                 .andExpect(jsonPath("$.data[0].name").value("Margherita Pizza"))
-                .andExpect(jsonPath("$.data[0].price").value(80));
+                .andExpect(jsonPath("$.data[0].price").value(80))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
 
-        verify(menuItemService, times(1)).findAllMenuItems();
+        verify(menuItemService, times(1)).findAllMenuItems(null, 100);
     }
 
     @Test
     void testGetAllMenuItemsEmptyList() throws Exception {
-        when(menuItemService.findAllMenuItems())
+        when(menuItemService.findAllMenuItems(null, 100))
                 .thenThrow(new MenuItemDoesNotExistException("no menu items found"));
 
         mockMvc.perform(get("/menu-items")
@@ -123,22 +127,13 @@ class MenuItemControllerTest {
                 .andExpect(jsonPath("$.data")
                         .value("no menu items found"));
 
-        verify(menuItemService, times(1)).findAllMenuItems();
+        verify(menuItemService, times(1)).findAllMenuItems(null, 100);
     }
 
     @Test
     void testGetMenuItemByIdSuccess() throws Exception {
-        MenuItem menuItem = mock(MenuItem.class);
-        when(menuItem.getId()).thenReturn(1);
-        when(menuItem.getName()).thenReturn("Margherita Pizza");
-        when(menuItem.getPrice()).thenReturn(80);
-
-        GETResponseDTO responseDTO = new GETResponseDTO();
-        responseDTO.setId(1);
-        responseDTO.setName("Margherita Pizza");
-        responseDTO.setPrice(Optional.of(80));
-        when(menuItemService.findById(1)).thenReturn(menuItem);
-        when(menuItemService.convertToDto(menuItem)).thenReturn(responseDTO);
+        when(menuItemService.findVersion(1)).thenReturn(Optional.of(0L));
+        when(menuItemService.findSummaryById(1)).thenReturn(new MenuItemSummaryDTO(1, "Margherita Pizza", 80));
 
         mockMvc.perform(get("/menu-items/1")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -146,14 +141,27 @@ class MenuItemControllerTest {
                 .andExpect(jsonPath("$.statusCode").value(200))
                 .andExpect(jsonPath("$.data.id").value(1))
                 .andExpect(jsonPath("$.data.name").value("Margherita Pizza"))
-                .andExpect(jsonPath("$.data.price").value(80));
+                .andExpect(jsonPath("$.data.price").value(80))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"menu-item-1-v0\""));
+
+        verify(menuItemService, times(1)).findSummaryById(1);
+        verify(menuItemService, never()).findById(anyInt());
+    }
+
+    @Test
+    void testGetMenuItemByIdNotModified() throws Exception {
+        when(menuItemService.findVersion(1)).thenReturn(Optional.of(0L));
+
+        mockMvc.perform(get("/menu-items/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"menu-item-1-v0\""))
+                .andExpect(status().isNotModified());
 
-        verify(menuItemService, times(1)).findById(1);
+        verify(menuItemService, never()).findSummaryById(anyInt());
     }
 
     @Test
     void testGetMenuItemByIdNotFound() throws Exception {
-        when(menuItemService.findById(1))
+        when(menuItemService.findSummaryById(1))
                 .thenThrow(new MenuItemDoesNotExistException("no menu item found"));
 
         mockMvc.perform(get("/menu-items/1")
@@ -162,6 +170,125 @@ class MenuItemControllerTest {
                 .andExpect(jsonPath("$.statusCode").value(404))
                 .andExpect(jsonPath("$.data").value("no menu item found"));
 
-        verify(menuItemService, times(1)).findById(1);
+        verify(menuItemService, times(1)).findSummaryById(1);
+    }
+
+    @Test
+    void testGetMenuItemsByIdsReturnsNotFoundMarkers() throws Exception {
+        when(menuItemService.lookupSummaries(List.of(2, 9))).thenReturn(List.of(
+                LookupResultDTO.of(2, new MenuItemSummaryDTO(2, "Margherita Pizza", 80)),
+                LookupResultDTO.of(9, null)));
+
+        mockMvc.perform(get("/menu-items/batch").param("ids", "2,9"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statusCode").value(200))
+                .andExpect(jsonPath("$.data[0].id").value(2))
+                .andExpect(jsonPath("$.data[0].found").value(true))
+                .andExpect(jsonPath("$.data[0].data.price").value(80))
+                .andExpect(jsonPath("$.data[1].id").value(9))
+                .andExpect(jsonPath("$.data[1].found").value(false))
+                .andExpect(jsonPath("$.data[1].data").doesNotExist());
+
+        verify(menuItemService, never()).findById(anyInt());
+    }
+
+    @Test
+    void testGetMenuItemsByIdsTooManyIdsBadRequest() throws Exception {
+        when(menuItemService.lookupSummaries(anyList()))
+                .thenThrow(new InvalidBulkRequestException("between 1 and 100 ids can be looked up at once"));
+
+        mockMvc.perform(get("/menu-items/batch").param("ids", "1,2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.data").value("between 1 and 100 ids can be looked up at once"));
+    }
+
+    @Test
+    void testAddMenuItemsFromJsonArray() throws Exception {
+        BulkInsertResultDTO result = new BulkInsertResultDTO();
+        result.setReceived(2);
+        result.addCreated(1);
+        result.reject(1, "menu item already added");
+        when(menuItemService.addMenuItems(any())).thenAnswer(invocation -> {
+            Iterator<RequestDTO> requests = invocation.getArgument(0);
+            assertEquals("Margherita Pizza", requests.next().getName());
+            assertEquals(90, requests.next().getPrice());
+            assertFalse(requests.hasNext());
+            return result;
+        });
+
+        mockMvc.perform(post("/menu-items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\": \"Margherita Pizza\", \"price\": 80}, {\"name\": \"Farmhouse\", \"price\": 90}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statusCode").value(200))
+                .andExpect(jsonPath("$.data.received").value(2))
+                .andExpect(jsonPath("$.data.created").value(1))
+                .andExpect(jsonPath("$.data.rejected[0].row").value(1))
+                .andExpect(jsonPath("$.data.rejected[0].reason").value("menu item already added"));
+
+        verify(menuItemService, times(1)).addMenuItems(any());
+    }
+
+    @Test
+    void testAddMenuItemsFromNdjson() throws Exception {
+        when(menuItemService.addMenuItems(any())).thenAnswer(invocation -> {
+            Iterator<RequestDTO> requests = invocation.getArgument(0);
+            BulkInsertResultDTO result = new BulkInsertResultDTO();
+            while (requests.hasNext()) {
+                requests.next();
+                result.setReceived(result.getReceived() + 1);
+            }
+            return result;
+        });
+
+        mockMvc.perform(post("/menu-items/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\": \"Margherita Pizza\", \"price\": 80}\n{\"name\": \"Farmhouse\", \"price\": 90}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.received").value(2));
+    }
+
+    @Test
+    void testAddMenuItemsMalformedPayloadBadRequest() throws Exception {
+        when(menuItemService.addMenuItems(any())).thenAnswer(invocation -> {
+            Iterator<RequestDTO> requests = invocation.getArgument(0);
+            while (requests.hasNext()) {
+                requests.next();
+            }
+            return new BulkInsertResultDTO();
+        });
+
+        mockMvc.perform(post("/menu-items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\": \"Margherita Pizza\", \"price\": }]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.statusCode").value(400));
+    }
+
+    @Test
+    void testAddMenuItemsMalformedElementReportsRowsAlreadyCreated() throws Exception {
+        when(menuItemService.addMenuItems(any())).thenAnswer(invocation -> {
+            Iterator<RequestDTO> requests = invocation.getArgument(0);
+            BulkInsertResultDTO result = new BulkInsertResultDTO();
+            try {
+                while (requests.hasNext()) {
+                    requests.next();
+                    result.setReceived(result.getReceived() + 1);
+                    result.addCreated(1);
+                }
+            } catch (MalformedBulkRowException e) {
+                result.truncate(result.getReceived(), e.getMessage());
+            }
+            return result;
+        });
+
+        mockMvc.perform(post("/menu-items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\": \"Margherita Pizza\", \"price\": 80}, {\"name\": \"Farmhouse\", \"price\": }]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.statusCode").value(400))
+                .andExpect(jsonPath("$.data.created").value(1))
+                .andExpect(jsonPath("$.data.truncated").value(true))
+                .andExpect(jsonPath("$.data.rejected[0].row").value(1));
     }
-}
\ No newline at end of file
+}
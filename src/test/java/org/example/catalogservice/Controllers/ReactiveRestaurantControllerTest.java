@@ -0,0 +1,180 @@
+package org.example.catalogservice.Controllers;
+
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.Exceptions.CustomExceptionHandler;
+import org.example.catalogservice.Exceptions.MenuItemDoesNotExistException;
+import org.example.catalogservice.Exceptions.RestaurantDoesNotExistException;
+import org.example.catalogservice.Services.ReactiveCatalogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ReactiveRestaurantControllerTest {
+    private MockMvc mockMvc;
+
+    @Mock
+    private ReactiveCatalogService reactiveCatalogService;
+
+    @InjectMocks
+    private ReactiveRestaurantController reactiveRestaurantController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(reactiveRestaurantController)
+                .setControllerAdvice(new CustomExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void testGetAllRestaurantStreamsNdjson() throws Exception {
+        when(reactiveCatalogService.findAllRestaurants(null, 100)).thenReturn(Mono.just(Flux.just(
+                new RestaurantSummaryDTO(1, "Pizza Place", "123 Main St"),
+                new RestaurantSummaryDTO(2, "Burger Joint", "456 Elm St"))));
+
+        MvcResult result = mockMvc.perform(get("/reactive/restaurants"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // the first dispatch resolves the Mono, the second waits for the stream it hands out to finish
+        MvcResult streaming = mockMvc.perform(asyncDispatch(result))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(streaming))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":1,\"name\":\"Pizza Place\",\"address\":\"123 Main St\"}\n" +
+                                "{\"id\":2,\"name\":\"Burger Joint\",\"address\":\"456 Elm St\"}\n"));
+    }
+
+    @Test
+    void testGetAllRestaurantNotFoundIsJson() throws Exception {
+        when(reactiveCatalogService.findAllRestaurants(null, 100))
+                .thenReturn(Mono.error(new RestaurantDoesNotExistException("no restaurants found")));
+
+        MvcResult result = mockMvc.perform(get("/reactive/restaurants"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.statusCode").value(404))
+                .andExpect(jsonPath("$.data").value("no restaurants found"));
+    }
+
+    @Test
+    void testGetRestaurantByIdSuccess() throws Exception {
+        when(reactiveCatalogService.findById(1))
+                .thenReturn(Mono.just(new RestaurantSummaryDTO(1, "Pizza Place", "123 Main St")));
+
+        MvcResult result = mockMvc.perform(get("/reactive/restaurants/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statusCode").value(200))
+                .andExpect(jsonPath("$.data.name").value("Pizza Place"));
+    }
+
+    @Test
+    void testGetRestaurantByIdNotFound() throws Exception {
+        when(reactiveCatalogService.findById(1))
+                .thenReturn(Mono.error(new RestaurantDoesNotExistException("restaurant does not exist")));
+
+        MvcResult result = mockMvc.perform(get("/reactive/restaurants/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.statusCode").value(404))
+                .andExpect(jsonPath("$.data").value("restaurant does not exist"));
+    }
+
+    @Test
+    void testGetMenuItemsStreamsNdjson() throws Exception {
+        when(reactiveCatalogService.getAllMenuItemsByRestaurantId(1)).thenReturn(Mono.just(Flux.just(
+                new MenuItemSummaryDTO(1, "Pizza", 100),
+                new MenuItemSummaryDTO(2, "Burger", 50))));
+
+        MvcResult result = mockMvc.perform(get("/reactive/restaurants/1/menu-items"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult streaming = mockMvc.perform(asyncDispatch(result))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(streaming))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":1,\"name\":\"Pizza\",\"price\":100}\n{\"id\":2,\"name\":\"Burger\",\"price\":50}\n"));
+        verify(reactiveCatalogService, times(1)).getAllMenuItemsByRestaurantId(1);
+    }
+
+    @Test
+    void testGetMenuItemsRestaurantNotFoundIsJson() throws Exception {
+        when(reactiveCatalogService.getAllMenuItemsByRestaurantId(1))
+                .thenReturn(Mono.error(new RestaurantDoesNotExistException("restaurant does not exist")));
+
+        MvcResult result = mockMvc.perform(get("/reactive/restaurants/1/menu-items"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.statusCode").value(404))
+                .andExpect(jsonPath("$.data").value("restaurant does not exist"));
+    }
+
+    @Test
+    void testGetMenuItemsNoMenuItemsIsJson() throws Exception {
+        when(reactiveCatalogService.getAllMenuItemsByRestaurantId(1))
+                .thenReturn(Mono.error(new MenuItemDoesNotExistException("no menu items found for this restaurant")));
+
+        MvcResult result = mockMvc.perform(get("/reactive/restaurants/1/menu-items"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.statusCode").value(404))
+                .andExpect(jsonPath("$.data").value("no menu items found for this restaurant"));
+    }
+
+    @Test
+    void testGetSelectedMenuItemSuccess() throws Exception {
+        when(reactiveCatalogService.getSelectedMenuItemByRestaurantId(1, 2))
+                .thenReturn(Mono.just(new MenuItemSummaryDTO(2, "Burger", 50)));
+
+        MvcResult result = mockMvc.perform(get("/reactive/restaurants/1/menu-items/2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(2))
+                .andExpect(jsonPath("$.data.price").value(50));
+    }
+}
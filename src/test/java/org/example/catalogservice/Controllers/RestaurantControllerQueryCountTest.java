@@ -0,0 +1,77 @@
+package org.example.catalogservice.Controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.example.catalogservice.Config.QueryCountAssertions.assertStatementCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// pins the statements the read endpoints run against the real schema, counted by the proxied DataSource
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog-query-count;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///catalog-query-count?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password="
+})
+@AutoConfigureMockMvc
+class RestaurantControllerQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testMenuIsReadOnceAndThenServedFromItsSnapshot() throws Throwable {
+        int restaurantId = seedRestaurant("Pizza Place", 3);
+        String path = "/restaurants/" + restaurantId + "/menu-items";
+
+        // menu revision, then the menu itself
+        MvcResult first = assertStatementCount(2, () -> mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andReturn());
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // only the menu revision while the snapshot is current, whether or not the client has it already
+        assertStatementCount(1, () -> mockMvc.perform(get(path)).andExpect(status().isOk()));
+        assertStatementCount(1, () -> mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified()));
+    }
+
+    @Test
+    void testRestaurantSummaryIsCachedAfterTheFirstRead() throws Throwable {
+        int restaurantId = seedRestaurant("Burger Joint", 0);
+        String path = "/restaurants/" + restaurantId;
+
+        // version, then the summary
+        assertStatementCount(2, () -> mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("Burger Joint")));
+        // the version lookup only, the summary comes from the cache
+        assertStatementCount(1, () -> mockMvc.perform(get(path)).andExpect(status().isOk()));
+    }
+
+    private int seedRestaurant(String name, int menuSize) {
+        jdbcTemplate.update("insert into restaurants (name, address) values (?, '1 Test Street')", name);
+        int restaurantId = jdbcTemplate.queryForObject("select id from restaurants where name = ?", Integer.class, name);
+        for (int i = 0; i < menuSize; i++) {
+            int menuItemId = jdbcTemplate.queryForObject("select nextval('menu_items_seq')", Integer.class);
+            jdbcTemplate.update("insert into menu_items (id, name, price) values (?, ?, ?)", menuItemId, name + " item " + i, 100 + i);
+            jdbcTemplate.update("insert into restaurant_menu_items (restaurant_id, menu_item_id) values (?, ?)",
+                    restaurantId, menuItemId);
+        }
+        return restaurantId;
+    }
+}
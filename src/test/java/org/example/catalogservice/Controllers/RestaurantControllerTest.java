@@ -1,27 +1,58 @@
 package org.example.catalogservice.Controllers;
 
-import org.example.catalogservice.DTO.GETResponseDTO;
+import org.example.catalogservice.DTO.BulkInsertResultDTO;
+import org.example.catalogservice.DTO.LookupResultDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.MenuQueryDTO;
+import org.example.catalogservice.DTO.MenuSnapshotDTO;
+import org.example.catalogservice.DTO.RequestDTO;
+import org.example.catalogservice.DTO.ResponseDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
 import org.example.catalogservice.Exceptions.*;
 import org.example.catalogservice.Models.MenuItem;
-import org.example.catalogservice.Models.Restaurant;
+import org.example.catalogservice.Services.CatalogExportService;
+import org.example.catalogservice.Services.CompressionService;
+import org.example.catalogservice.Services.MenuSnapshotService;
+import org.example.catalogservice.Services.RestaurantPageSnapshotService;
 import org.example.catalogservice.Services.RestaurantService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
-
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class RestaurantControllerTest {
@@ -30,12 +61,23 @@ class RestaurantControllerTest {
     @Mock
     private RestaurantService restaurantService;
 
+    @Mock
+    private MenuSnapshotService menuSnapshotService;
+
+    @Mock
+    private CatalogExportService catalogExportService;
+
     @InjectMocks
     private RestaurantController restaurantController;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // real page cache over the mocked service, so the list tests go through the cached bytes
+        ReflectionTestUtils.setField(restaurantController, "restaurantPageSnapshotService",
+                new RestaurantPageSnapshotService(restaurantService, new ObjectMapper(),
+                        new CompressionService(new SimpleMeterRegistry(), DataSize.ofBytes(0), 6),
+                        new SimpleMeterRegistry(), 1 << 20, Duration.ofMinutes(1)));
         mockMvc = MockMvcBuilders.standaloneSetup(restaurantController)
                 .setControllerAdvice(new CustomExceptionHandler())
                 .build();
@@ -55,6 +97,25 @@ class RestaurantControllerTest {
         verify(restaurantService, times(1)).addRestaurant("Pizza Place", "123 Main St");
     }
 
+    @Test
+    void testExportCatalogStreamsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"id\":4,\"name\":\"Pizza Place\",\"address\":\"123 Main St\",\"menuItems\":[]}\n"
+                    .getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(catalogExportService).exportCatalog(eq(3), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/restaurants/export").param("after", "3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":4,\"name\":\"Pizza Place\",\"address\":\"123 Main St\",\"menuItems\":[]}\n"));
+    }
+
     @Test
     void testAddAlreadyAddedRestaurantBadRequestThrowsException() throws Exception {
         when(restaurantService.addRestaurant(anyString(), anyString()))
@@ -86,19 +147,108 @@ class RestaurantControllerTest {
     }
 
     @Test
-    void testGetAllRestaurantSuccess() throws Exception {
-        Restaurant restaurant = mock(Restaurant.class);
-        when(restaurant.getId()).thenReturn(1);
-        when(restaurant.getName()).thenReturn("Pizza Place");
-        when(restaurant.getAddress()).thenReturn("123 Main St");
+    void testAddRestaurantsFromJsonArray() throws Exception {
+        when(restaurantService.addRestaurants(any())).thenAnswer(invocation -> {
+            Iterator<RequestDTO> requests = invocation.getArgument(0);
+            RequestDTO first = requests.next();
+            assertEquals("Pizza Place", first.getName());
+            assertEquals("123 Main St", first.getAddress());
+            RequestDTO second = requests.next();
+            assertEquals("Burger Barn", second.getName());
+            assertNull(second.getAddress());
+            assertFalse(requests.hasNext());
+
+            BulkInsertResultDTO result = new BulkInsertResultDTO();
+            result.setReceived(2);
+            result.addCreated(1);
+            result.reject(1, "name and address cannot be null or empty");
+            return result;
+        });
+
+        mockMvc.perform(post("/restaurants/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\": \"Pizza Place\", \"address\": \"123 Main St\", \"tags\": [\"veg\"]}, " +
+                                "{\"name\": \"Burger Barn\", \"address\": null}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statusCode").value(200))
+                .andExpect(jsonPath("$.data.received").value(2))
+                .andExpect(jsonPath("$.data.created").value(1))
+                .andExpect(jsonPath("$.data.rejected[0].row").value(1));
+
+        verify(restaurantService, times(1)).addRestaurants(any());
+    }
+
+    @Test
+    void testAddRestaurantsFromNdjson() throws Exception {
+        when(restaurantService.addRestaurants(any())).thenAnswer(invocation -> {
+            Iterator<RequestDTO> requests = invocation.getArgument(0);
+            BulkInsertResultDTO result = new BulkInsertResultDTO();
+            while (requests.hasNext()) {
+                requests.next();
+                result.setReceived(result.getReceived() + 1);
+            }
+            return result;
+        });
+
+        mockMvc.perform(post("/restaurants/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\": \"Pizza Place\", \"address\": \"123 Main St\"}\n" +
+                                "{\"name\": \"Burger Barn\", \"address\": \"789 High St\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.received").value(2));
+    }
+
+    @Test
+    void testAddRestaurantsMalformedPayloadBadRequest() throws Exception {
+        when(restaurantService.addRestaurants(any())).thenAnswer(invocation -> {
+            Iterator<RequestDTO> requests = invocation.getArgument(0);
+            while (requests.hasNext()) {
+                requests.next();
+            }
+            return new BulkInsertResultDTO();
+        });
+
+        mockMvc.perform(post("/restaurants/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\": \"Pizza Place\"}, 42]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.statusCode").value(400));
+    }
+
+    @Test
+    void testAddRestaurantsMalformedElementReportsRowsAlreadyCreated() throws Exception {
+        when(restaurantService.addRestaurants(any())).thenAnswer(invocation -> {
+            Iterator<RequestDTO> requests = invocation.getArgument(0);
+            BulkInsertResultDTO result = new BulkInsertResultDTO();
+            try {
+                while (requests.hasNext()) {
+                    requests.next();
+                    result.setReceived(result.getReceived() + 1);
+                    result.addCreated(1);
+                }
+            } catch (MalformedBulkRowException e) {
+                result.truncate(result.getReceived(), e.getMessage());
+            }
+            return result;
+        });
+
+        mockMvc.perform(post("/restaurants/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\": \"Pizza Place\", \"address\": \"123 Main St\"}, 42]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.statusCode").value(400))
+                .andExpect(jsonPath("$.data.created").value(1))
+                .andExpect(jsonPath("$.data.truncated").value(true))
+                .andExpect(jsonPath("$.data.rejected[0].row").value(1))
+                .andExpect(jsonPath("$.data.rejected[0].reason")
+                        .value("malformed restaurant: expected an object but found VALUE_NUMBER_INT"));
+    }
 
-        GETResponseDTO responseDTO = new GETResponseDTO();
-        responseDTO.setId(1);
-        responseDTO.setName("Pizza Place");
-        responseDTO.setAddress(Optional.of("123 Main St"));
+    @Test
+    void testGetAllRestaurantSuccess() throws Exception {
+        RestaurantSummaryDTO restaurant = new RestaurantSummaryDTO(1, "Pizza Place", "123 Main St");
 
-        when(restaurantService.findAllRestaurants()).thenReturn(List.of(restaurant));
-        when(restaurantService.convertToDtoRestaurant(restaurant)).thenReturn(responseDTO);
+        when(restaurantService.findAllRestaurants(null, 100)).thenReturn(List.of(restaurant));
 
         mockMvc.perform(get("/restaurants")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -106,14 +256,66 @@ class RestaurantControllerTest {
                 .andExpect(jsonPath("$.statusCode").value(200))
                 .andExpect(jsonPath("$.data[0].id").value(1))
                 .andExpect(jsonPath("$.data[0].name").value("Pizza Place"))
-                .andExpect(jsonPath("$.data[0].address").value("123 Main St"));
+                .andExpect(jsonPath("$.data[0].address").value("123 Main St"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(restaurantService, times(1)).findAllRestaurants(null, 100);
+    }
+
+    @Test
+    void testGetAllRestaurantFullPageReturnsNextCursor() throws Exception {
+        RestaurantSummaryDTO restaurant = new RestaurantSummaryDTO(7, "Pizza Place", "123 Main St");
+
+        when(restaurantService.findAllRestaurants(5, 1)).thenReturn(List.of(restaurant));
+
+        mockMvc.perform(get("/restaurants")
+                        .param("after", "5")
+                        .param("limit", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(7))
+                .andExpect(jsonPath("$.nextCursor").value(7));
+
+        verify(restaurantService, times(1)).findAllRestaurants(5, 1);
+    }
+
+    @Test
+    void testGetAllRestaurantServesCachedGzipPage() throws Exception {
+        when(restaurantService.findAllRestaurants(null, 100))
+                .thenReturn(List.of(new RestaurantSummaryDTO(1, "Pizza Place", "123 Main St")));
+
+        for (int i = 0; i < 2; i++) {
+            MvcResult result = mockMvc.perform(get("/restaurants")
+                            .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                    .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                    .andReturn();
+            try (GZIPInputStream gzip = new GZIPInputStream(
+                    new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+                assertTrue(new String(gzip.readAllBytes(), StandardCharsets.UTF_8).contains("\"name\":\"Pizza Place\""));
+            }
+        }
+
+        verify(restaurantService, times(1)).findAllRestaurants(null, 100);
+    }
 
-        verify(restaurantService, times(1)).findAllRestaurants();
+    @Test
+    void testGetAllRestaurantInvalidLimit() throws Exception {
+        when(restaurantService.findAllRestaurants(null, 0))
+                .thenThrow(new InvalidPageRequestException("limit must be between 1 and 1000"));
+
+        mockMvc.perform(get("/restaurants")
+                        .param("limit", "0")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.statusCode").value(400))
+                .andExpect(jsonPath("$.data").value("limit must be between 1 and 1000"));
     }
 
     @Test
     void testGetAllRestaurantEmptyList() throws Exception {
-        when(restaurantService.findAllRestaurants())
+        when(restaurantService.findAllRestaurants(null, 100))
                 .thenThrow(new RestaurantDoesNotExistException("no restaurants found"));
 
         mockMvc.perform(get("/restaurants")
@@ -122,22 +324,30 @@ class RestaurantControllerTest {
                 .andExpect(jsonPath("$.statusCode").value(404))
                 .andExpect(jsonPath("$.data").value("no restaurants found"));
 
-        verify(restaurantService, times(1)).findAllRestaurants();
+        verify(restaurantService, times(1)).findAllRestaurants(null, 100);
+    }
+
+    @Test
+    void testGetRestaurantsByIdsKeepsRequestOrder() throws Exception {
+        when(restaurantService.lookupSummaries(List.of(7, 1))).thenReturn(List.of(
+                LookupResultDTO.of(7, null),
+                LookupResultDTO.of(1, new RestaurantSummaryDTO(1, "Pizza Place", "123 Main St"))));
+
+        mockMvc.perform(get("/restaurants/batch").param("ids", "7,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(7))
+                .andExpect(jsonPath("$.data[0].found").value(false))
+                .andExpect(jsonPath("$.data[1].id").value(1))
+                .andExpect(jsonPath("$.data[1].found").value(true))
+                .andExpect(jsonPath("$.data[1].data.address").value("123 Main St"));
+
+        verify(restaurantService, never()).findById(anyInt());
     }
 
     @Test
     void testGetRestaurantByIdSuccess() throws Exception {
-        Restaurant restaurant = mock(Restaurant.class);
-        when(restaurant.getId()).thenReturn(1);
-        when(restaurant.getName()).thenReturn("Pizza Place");
-        when(restaurant.getAddress()).thenReturn("123 Main St");
-
-        GETResponseDTO responseDTO = new GETResponseDTO();
-        responseDTO.setId(1);
-        responseDTO.setName("Pizza Place");
-        responseDTO.setAddress(Optional.of("123 Main St"));
-        when(restaurantService.findById(1)).thenReturn(restaurant);
-        when(restaurantService.convertToDtoRestaurant(restaurant)).thenReturn(responseDTO);
+        when(restaurantService.findVersion(1)).thenReturn(Optional.of(0L));
+        when(restaurantService.findSummaryById(1)).thenReturn(new RestaurantSummaryDTO(1, "Pizza Place", "123 Main St"));
 
         mockMvc.perform(get("/restaurants/1")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -145,14 +355,28 @@ class RestaurantControllerTest {
                 .andExpect(jsonPath("$.statusCode").value(200))
                 .andExpect(jsonPath("$.data.id").value(1))
                 .andExpect(jsonPath("$.data.name").value("Pizza Place"))
-                .andExpect(jsonPath("$.data.address").value("123 Main St"));
+                .andExpect(jsonPath("$.data.address").value("123 Main St"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"restaurant-1-v0\""));
+
+        verify(restaurantService, times(1)).findSummaryById(1);
+        verify(restaurantService, never()).findById(anyInt());
+    }
+
+    @Test
+    void testGetRestaurantByIdNotModified() throws Exception {
+        when(restaurantService.findVersion(1)).thenReturn(Optional.of(2L));
+
+        mockMvc.perform(get("/restaurants/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"restaurant-1-v2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"restaurant-1-v2\""));
 
-        verify(restaurantService, times(1)).findById(1);
+        verify(restaurantService, never()).findSummaryById(anyInt());
     }
 
     @Test
     void testGetRestaurantByIdNotFound() throws Exception {
-        when(restaurantService.findById(1))
+        when(restaurantService.findSummaryById(1))
                 .thenThrow(new RestaurantDoesNotExistException("no restaurants found"));
 
         mockMvc.perform(get("/restaurants/1")
@@ -161,7 +385,7 @@ class RestaurantControllerTest {
                 .andExpect(jsonPath("$.statusCode").value(404))
                 .andExpect(jsonPath("$.data").value("no restaurants found"));
 
-        verify(restaurantService, times(1)).findById(1);
+        verify(restaurantService, times(1)).findSummaryById(1);
     }
 
     @Test
@@ -226,22 +450,19 @@ class RestaurantControllerTest {
 
     @Test
     void testGetMenuItemsSuccess() throws Exception {
-        MenuItem menuItem1 = mock(MenuItem.class);
-        when(menuItem1.getId()).thenReturn(1);
-        when(menuItem1.getName()).thenReturn("Pizza");
-        when(menuItem1.getPrice()).thenReturn(100);
-
-        MenuItem menuItem2 = mock(MenuItem.class);
-        when(menuItem2.getId()).thenReturn(2);
-        when(menuItem2.getName()).thenReturn("Burger");
-        when(menuItem2.getPrice()).thenReturn(50);
-        List<MenuItem> menuItems = List.of(menuItem1, menuItem2);
+        List<MenuItemSummaryDTO> menuItems = List.of(
+                new MenuItemSummaryDTO(1, "Pizza", 100),
+                new MenuItemSummaryDTO(2, "Burger", 50));
 
-        when(restaurantService.getAllMenuItemsByRestaurantId(1)).thenReturn(menuItems);
+        byte[] json = new ObjectMapper().writeValueAsBytes(new ResponseDTO<>(200, menuItems));
+        when(menuSnapshotService.getSnapshot(1, 0L)).thenReturn(new MenuSnapshotDTO(0L, menuItems, json, null));
 
         mockMvc.perform(get("/restaurants/1/menu-items")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"menu-1-r0\""))
                 .andExpect(jsonPath("$.statusCode").value(200))
                 .andExpect(jsonPath("$.data[0].id").value(1))
                 .andExpect(jsonPath("$.data[0].name").value("Pizza"))
@@ -250,12 +471,127 @@ class RestaurantControllerTest {
                 .andExpect(jsonPath("$.data[1].name").value("Burger"))
                 .andExpect(jsonPath("$.data[1].price").value(50));
 
-        verify(restaurantService, times(1)).getAllMenuItemsByRestaurantId(1);
+        verify(menuSnapshotService, times(1)).getSnapshot(1, 0L);
+        verify(restaurantService, never()).getAllMenuItemsByRestaurantId(anyInt());
+    }
+
+    @Test
+    void testGetCheapestMenuItemsInPriceRange() throws Exception {
+        when(menuSnapshotService.findMenuItems(1, new MenuQueryDTO(100, 300, true, 10))).thenReturn(List.of(
+                new MenuItemSummaryDTO(2, "Burger", 120),
+                new MenuItemSummaryDTO(1, "Pizza", 250)));
+
+        mockMvc.perform(get("/restaurants/1/menu-items")
+                        .param("minPrice", "100")
+                        .param("maxPrice", "300")
+                        .param("sort", "price")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.data[0].id").value(2))
+                .andExpect(jsonPath("$.data[1].price").value(250));
+
+        verify(menuSnapshotService, never()).getSnapshot(anyInt(), anyLong());
+    }
+
+    @Test
+    void testGetMenuItemsWithInvalidFilterBadRequest() throws Exception {
+        mockMvc.perform(get("/restaurants/1/menu-items").param("sort", "name"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.data").value("menu items can only be sorted by price"));
+        mockMvc.perform(get("/restaurants/1/menu-items").param("minPrice", "300").param("maxPrice", "100"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.data").value("minPrice must be between 0 and maxPrice"));
+
+        verifyNoInteractions(menuSnapshotService);
+    }
+
+    @Test
+    void testGetMenuItemsServesGzipSnapshotWhenAccepted() throws Exception {
+        byte[] gzip = {31, -117, 8, 0};
+        when(menuSnapshotService.getSnapshot(1, 0L)).thenReturn(new MenuSnapshotDTO(0L, List.of(), new byte[]{'{', '}'}, gzip));
+
+        mockMvc.perform(get("/restaurants/1/menu-items")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"menu-1-r0-gzip\""))
+                .andExpect(content().bytes(gzip));
+    }
+
+    @Test
+    void testGetMenuItemsEncodesSnapshotAsCborWhenPreferred() throws Exception {
+        List<MenuItemSummaryDTO> menuItems = List.of(new MenuItemSummaryDTO(1, "Pizza", 100));
+        when(menuSnapshotService.getSnapshot(1, 0L)).thenReturn(new MenuSnapshotDTO(0L, menuItems, new byte[]{'{', '}'}, null));
+
+        MvcResult result = mockMvc.perform(get("/restaurants/1/menu-items")
+                        .header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/cbor")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"menu-1-r0-cbor\""))
+                .andReturn();
+
+        JsonNode body = new ObjectMapper(new CBORFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(200, body.get("statusCode").asInt());
+        assertEquals("Pizza", body.get("data").get(0).get("name").asText());
+    }
+
+    @Test
+    void testGetMenuItemsBelowCompressionThresholdKeepsPlainEtag() throws Exception {
+        when(menuSnapshotService.getSnapshot(1, 0L)).thenReturn(new MenuSnapshotDTO(0L, List.of(), new byte[]{'{', '}'}, null));
+
+        mockMvc.perform(get("/restaurants/1/menu-items")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"menu-1-r0\""))
+                .andExpect(content().string("{}"));
+
+        mockMvc.perform(get("/restaurants/1/menu-items")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"menu-1-r0\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testGetMenuItemsNotModified() throws Exception {
+        byte[] gzip = {31, -117, 8, 0};
+        when(restaurantService.findMenuRevision(1)).thenReturn(Optional.of(4L));
+        when(menuSnapshotService.getSnapshot(1, 4L)).thenReturn(new MenuSnapshotDTO(4L, List.of(), new byte[]{'{', '}'}, gzip));
+
+        mockMvc.perform(get("/restaurants/1/menu-items")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"menu-1-r4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"menu-1-r4\""))
+                .andExpect(content().bytes(new byte[0]));
+
+        mockMvc.perform(get("/restaurants/1/menu-items")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"menu-1-r4-gzip\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"menu-1-r4-gzip\""));
+    }
+
+    @Test
+    void testGetMenuItemsWithStaleEtagReturnsCurrentSnapshot() throws Exception {
+        when(restaurantService.findMenuRevision(1)).thenReturn(Optional.of(5L));
+        when(menuSnapshotService.getSnapshot(1, 5L)).thenReturn(new MenuSnapshotDTO(5L, List.of(), new byte[]{'{', '}'}, null));
+
+        mockMvc.perform(get("/restaurants/1/menu-items")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"menu-1-r4\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"menu-1-r5\""))
+                .andExpect(content().string("{}"));
+
+        verify(menuSnapshotService, times(1)).getSnapshot(1, 5L);
     }
 
     @Test
     void testGetMenuItemsByRestaurantIdRestaurantNotFound() throws Exception {
-        when(restaurantService.getAllMenuItemsByRestaurantId(1))
+        when(menuSnapshotService.getSnapshot(1, 0L))
                 .thenThrow(new RestaurantDoesNotExistException("restaurant does not exist"));
 
         mockMvc.perform(get("/restaurants/1/menu-items")
@@ -264,7 +600,7 @@ class RestaurantControllerTest {
                 .andExpect(jsonPath("$.statusCode").value(404))
                 .andExpect(jsonPath("$.data").value("restaurant does not exist"));
 
-        verify(restaurantService, times(1)).getAllMenuItemsByRestaurantId(1);
+        verify(menuSnapshotService, times(1)).getSnapshot(1, 0L);
     }
 
     @Test
@@ -0,0 +1,72 @@
+package org.example.catalogservice.Controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// reads that were cached or snapshotted before an assignment, read again right after it
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog-query-count;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///catalog-query-count?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password="
+})
+@AutoConfigureMockMvc
+class RestaurantMenuAssignmentTest {
+    private static final String ADMIN_AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testAssignmentIsVisibleOnTheNextRead() throws Exception {
+        jdbcTemplate.update("insert into restaurants (name, address) values ('Taco Stand', '5 Side St')");
+        int restaurantId = jdbcTemplate.queryForObject("select id from restaurants where name = 'Taco Stand'", Integer.class);
+        int burritoId = jdbcTemplate.queryForObject("select nextval('menu_items_seq')", Integer.class);
+        jdbcTemplate.update("insert into menu_items (id, name, price) values (?, 'Burrito', 40)", burritoId);
+        jdbcTemplate.update("insert into restaurant_menu_items (restaurant_id, menu_item_id) values (?, ?)",
+                restaurantId, burritoId);
+        int menuItemId = jdbcTemplate.queryForObject("select nextval('menu_items_seq')", Integer.class);
+        jdbcTemplate.update("insert into menu_items (id, name, price) values (?, 'Taco', 30)", menuItemId);
+
+        mockMvc.perform(get("/restaurants/{id}", restaurantId)).andExpect(status().isOk());
+        mockMvc.perform(get("/menu-items/{id}", menuItemId)).andExpect(status().isOk());
+        mockMvc.perform(get("/restaurants/{id}/menu-items", restaurantId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1));
+
+        mockMvc.perform(post("/restaurants/{id}/menu-items", restaurantId)
+                        .param("menuItemIds", String.valueOf(menuItemId))
+                        .header(HttpHeaders.AUTHORIZATION, ADMIN_AUTHORIZATION))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/restaurants/{id}/menu-items", restaurantId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[?(@.name == 'Taco')].price").value(30));
+        mockMvc.perform(get("/restaurants/{id}/menu-items/{menuItemId}", restaurantId, menuItemId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.price").value(30));
+        mockMvc.perform(get("/restaurants/{id}", restaurantId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("Taco Stand"));
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.catalogservice.Controllers;
+
+import org.example.catalogservice.DTO.SearchHitDTO;
+import org.example.catalogservice.Exceptions.CustomExceptionHandler;
+import org.example.catalogservice.Exceptions.InvalidSearchRequestException;
+import org.example.catalogservice.Services.CatalogSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class SearchControllerTest {
+    private MockMvc mockMvc;
+
+    @Mock
+    private CatalogSearchService catalogSearchService;
+
+    @InjectMocks
+    private SearchController searchController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(searchController)
+                .setControllerAdvice(new CustomExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void testSearchReturnsRankedHits() throws Exception {
+        when(catalogSearchService.search("piz", SearchHitDTO.Type.MENU_ITEM, 5)).thenReturn(List.of(
+                new SearchHitDTO(SearchHitDTO.Type.MENU_ITEM, 11, "Pepperoni Pizza", null, 120)));
+
+        mockMvc.perform(get("/search").param("q", "piz").param("type", "MENU_ITEM").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statusCode").value(200))
+                .andExpect(jsonPath("$.data[0].type").value("MENU_ITEM"))
+                .andExpect(jsonPath("$.data[0].id").value(11))
+                .andExpect(jsonPath("$.data[0].price").value(120))
+                .andExpect(jsonPath("$.data[0].address").doesNotExist());
+    }
+
+    @Test
+    void testSearchInvalidQueryBadRequest() throws Exception {
+        when(catalogSearchService.search(" ", null, 10))
+                .thenThrow(new InvalidSearchRequestException("q must hold between 1 and 100 characters"));
+
+        mockMvc.perform(get("/search").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.statusCode").value(400))
+                .andExpect(jsonPath("$.data").value("q must hold between 1 and 100 characters"));
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.catalogservice.DTO;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SummaryDTOSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testMenuItemSummaryKeepsTheResponseShape() throws Exception {
+        String json = objectMapper.writeValueAsString(new MenuItemSummaryDTO(1, "Margherita \"Pizza\"", 80));
+
+        assertEquals("{\"id\":1,\"name\":\"Margherita \\\"Pizza\\\"\",\"price\":80}", json);
+    }
+
+    @Test
+    void testRestaurantSummaryKeepsTheResponseShape() throws Exception {
+        String json = objectMapper.writeValueAsString(new RestaurantSummaryDTO(1, "Pizza Place", "123 Main St"));
+
+        assertEquals("{\"id\":1,\"name\":\"Pizza Place\",\"address\":\"123 Main St\"}", json);
+    }
+
+    @Test
+    void testNullFieldsAreWrittenAsNull() throws Exception {
+        assertEquals("{\"id\":null,\"name\":null,\"price\":0}",
+                objectMapper.writeValueAsString(new MenuItemSummaryDTO(null, null, 0)));
+        assertEquals("{\"id\":null,\"name\":\"Pizza Place\",\"address\":null}",
+                objectMapper.writeValueAsString(new RestaurantSummaryDTO(null, "Pizza Place", null)));
+    }
+
+    @Test
+    void testSummariesStillDeserialize() throws Exception {
+        ResponseDTO<List<MenuItemSummaryDTO>> response = new ResponseDTO<>(200,
+                List.of(new MenuItemSummaryDTO(1, "Margherita Pizza", 80), new MenuItemSummaryDTO(2, "Pasta", 120)));
+
+        byte[] json = objectMapper.writeValueAsBytes(response);
+        MenuItemSummaryDTO[] items = objectMapper.treeToValue(objectMapper.readTree(json).get("data"),
+                MenuItemSummaryDTO[].class);
+
+        assertEquals(response.getData(), List.of(items));
+    }
+}
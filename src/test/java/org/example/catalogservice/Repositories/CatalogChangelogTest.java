@@ -0,0 +1,82 @@
+package org.example.catalogservice.Repositories;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// runs the changelog over the schema ddl-auto=update used to leave behind, statements as Hibernate logged them,
+// with an item assigned twice the way the keyless join table allowed
+class CatalogChangelogTest {
+
+    @Test
+    void testChangelogAdoptsUpdateModeSchemaOnH2() throws Exception {
+        // without DATABASE_TO_LOWER: Liquibase looks H2 tables up in upper case, so tableExists misses lower-cased
+        // ones. The application's H2 databases are in memory and always start empty, where that makes no difference.
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:catalog-changelog;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        assertChangelogAdoptsUpdateModeSchema(h2, false);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "test.postgres-url", matches = ".+")
+    void testChangelogAdoptsUpdateModeSchemaOnPostgres() throws Exception {
+        assertChangelogAdoptsUpdateModeSchema(new DriverManagerDataSource(System.getProperty("test.postgres-url")), true);
+    }
+
+    private static void assertChangelogAdoptsUpdateModeSchema(DataSource dataSource, boolean postgres) throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String sql : List.of(
+                "drop table if exists databasechangelog, databasechangeloglock, catalog_changes, "
+                        + "restaurant_menu_items, menu_items, restaurants cascade",
+                "drop sequence if exists menu_items_seq",
+                "create table menu_items (id integer generated by default as identity, name varchar(255), "
+                        + "price integer not null, primary key (id))",
+                "create table restaurant_menu_items (restaurant_id integer not null, menu_item_id integer not null)",
+                "create table restaurants (id integer generated by default as identity, address varchar(255), "
+                        + "name varchar(255), primary key (id))",
+                "alter table if exists menu_items add constraint UKns2xwaetkc4c0dw4br7vgvntm unique (name, price)",
+                "alter table if exists restaurants add constraint UKrkk4wn37drajf8xvwbyitkwkg unique (name, address)",
+                "alter table if exists restaurant_menu_items add constraint FKcqsuvhbc15ic8vg51arjoocra "
+                        + "foreign key (menu_item_id) references menu_items",
+                "alter table if exists restaurant_menu_items add constraint FK8v84qvvpac46uatlijuj3rpks "
+                        + "foreign key (restaurant_id) references restaurants",
+                "insert into restaurants (name, address) values ('Pizza Place', '123 Main St'), ('Burger Joint', '456 Elm St')",
+                "insert into menu_items (name, price) values ('Pizza', 100), ('Burger', 50), ('Pasta', 70)",
+                "insert into restaurant_menu_items values (1, 1), (1, 3), (2, 2), (1, 1), (2, 2), (2, 2)")) {
+            jdbcTemplate.execute(sql);
+        }
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:/db/changelog/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        assertEquals(List.of("1:1", "1:3", "2:2"), jdbcTemplate.queryForList(
+                "select restaurant_id || ':' || menu_item_id from restaurant_menu_items order by 1", String.class));
+        assertThrows(DuplicateKeyException.class,
+                () -> jdbcTemplate.update("insert into restaurant_menu_items values (1, 1)"));
+        assertEquals(List.of(0L, 0L, 0L, 0L), jdbcTemplate.queryForList(
+                "select menu_revision from restaurants union all select version from restaurants", Long.class));
+        assertEquals(List.of(0L, 0L, 0L), jdbcTemplate.queryForList("select version from menu_items", Long.class));
+        jdbcTemplate.update("insert into restaurants (name, address) values ('Taco Stand', '1 Oak St')");
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "select menu_revision + version from restaurants where name = 'Taco Stand'", Long.class));
+        if (postgres) {
+            // the sequence only catches up with adopted ids on PostgreSQL, H2 databases always start empty
+            assertTrue(jdbcTemplate.queryForObject("select nextval('menu_items_seq')", Long.class) > 3);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.catalogservice.Repositories;
+
+import io.r2dbc.spi.ConnectionFactories;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+class ReactiveCatalogRepositoryTest {
+
+    private ReactiveCatalogRepository reactiveCatalogRepository;
+
+    @BeforeEach
+    void setUp() {
+        DatabaseClient databaseClient = DatabaseClient.create(ConnectionFactories.get(
+                "r2dbc:h2:mem:///reactive-catalog?options=DB_CLOSE_DELAY=-1"));
+        for (String sql : List.of(
+                "drop table if exists restaurant_menu_items",
+                "drop table if exists menu_items",
+                "drop table if exists restaurants",
+                "create table restaurants (id int primary key, name varchar(255), address varchar(255))",
+                "create table menu_items (id int primary key, name varchar(255), price int)",
+                "create table restaurant_menu_items (restaurant_id int, menu_item_id int)",
+                "insert into restaurants (id, name, address) values (1, 'Pizza Place', '123 Main St'), (2, 'Burger Joint', '456 Elm St'), " +
+                        "(3, 'Empty Kitchen', '789 Oak St')",
+                "insert into menu_items (id, name, price) values (1, 'Pizza', 100), (2, 'Burger', 50), (3, 'Pasta', 70)",
+                "insert into restaurant_menu_items (restaurant_id, menu_item_id) values (1, 3), (1, 1), (2, 2)")) {
+            databaseClient.sql(sql).then().block();
+        }
+        reactiveCatalogRepository = new ReactiveCatalogRepository(databaseClient);
+    }
+
+    @Test
+    void testFindRestaurantsAfterPagesById() {
+        StepVerifier.create(reactiveCatalogRepository.findRestaurantsAfter(1, 1))
+                .expectNext(new RestaurantSummaryDTO(2, "Burger Joint", "456 Elm St"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindRestaurantById() {
+        StepVerifier.create(reactiveCatalogRepository.findRestaurantById(1))
+                .expectNext(new RestaurantSummaryDTO(1, "Pizza Place", "123 Main St"))
+                .verifyComplete();
+        StepVerifier.create(reactiveCatalogRepository.findRestaurantById(9)).verifyComplete();
+    }
+
+    @Test
+    void testExistsRestaurantById() {
+        StepVerifier.create(reactiveCatalogRepository.existsRestaurantById(3)).expectNext(true).verifyComplete();
+        StepVerifier.create(reactiveCatalogRepository.existsRestaurantById(9)).expectNext(false).verifyComplete();
+    }
+
+    @Test
+    void testExistsAnyRestaurant() {
+        StepVerifier.create(reactiveCatalogRepository.existsAnyRestaurant()).expectNext(true).verifyComplete();
+    }
+
+    @Test
+    void testExistsMenuByRestaurantId() {
+        StepVerifier.create(reactiveCatalogRepository.existsMenuByRestaurantId(1)).expectNext(true).verifyComplete();
+        StepVerifier.create(reactiveCatalogRepository.existsMenuByRestaurantId(3)).expectNext(false).verifyComplete();
+    }
+
+    @Test
+    void testFindMenuByRestaurantIdStreamsOnDemand() {
+        StepVerifier.create(reactiveCatalogRepository.findMenuByRestaurantId(1), 1)
+                .expectNext(new MenuItemSummaryDTO(1, "Pizza", 100))
+                .thenRequest(1)
+                .expectNext(new MenuItemSummaryDTO(3, "Pasta", 70))
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindMenuItemByRestaurantIdOnlyReturnsOwnedItems() {
+        StepVerifier.create(reactiveCatalogRepository.findMenuItemByRestaurantId(2, 2))
+                .expectNext(new MenuItemSummaryDTO(2, "Burger", 50))
+                .verifyComplete();
+        StepVerifier.create(reactiveCatalogRepository.findMenuItemByRestaurantId(2, 1)).verifyComplete();
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.catalogservice.Repositories;
+
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.Models.Restaurant;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// runs the insert against H2 in PostgreSQL mode, the database the benchmarks and the load test use, and against
+// PostgreSQL when ./gradlew test -Ptest.postgres-url=jdbc:postgresql://...?user=... names a scratch database
+class RestaurantJdbcRepositoryTest {
+
+    @Test
+    void testInsertIgnoringDuplicatesReturnsOnlyNewRowsOnH2() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:restaurant-jdbc;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        assertInsertIgnoringDuplicates(h2);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "test.postgres-url", matches = ".+")
+    void testInsertIgnoringDuplicatesReturnsOnlyNewRowsOnPostgres() {
+        assertInsertIgnoringDuplicates(new DriverManagerDataSource(System.getProperty("test.postgres-url")));
+        // pgjdbc rewrites batched inserts into multi-row ones when asked to; the returned rows must not change
+        assertInsertIgnoringDuplicates(new DriverManagerDataSource(
+                System.getProperty("test.postgres-url") + "&reWriteBatchedInserts=true"));
+    }
+
+    private static void assertInsertIgnoringDuplicates(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop table if exists restaurants cascade");
+        jdbcTemplate.execute("create table restaurants (id integer generated by default as identity primary key, "
+                + "name varchar(255), address varchar(255), menu_revision bigint default 0 not null, "
+                + "version bigint default 0 not null, "
+                + "constraint uk_restaurants_name_address unique (name, address))");
+        jdbcTemplate.update("insert into restaurants (name, address) values ('Pizza Place', '123 Main St')");
+        RestaurantJdbcRepository restaurantJdbcRepository = new RestaurantJdbcRepository();
+        ReflectionTestUtils.setField(restaurantJdbcRepository, "jdbcTemplate", jdbcTemplate);
+
+        List<RestaurantSummaryDTO> inserted = restaurantJdbcRepository.insertIgnoringDuplicates(List.of(
+                new Restaurant("Pizza Place", "123 Main St"),
+                new Restaurant("Burger Joint", "456 Elm St"),
+                new Restaurant("Burger Joint", "456 Elm St"),
+                new Restaurant("Pizza Place", "789 Oak St")));
+
+        assertEquals(List.of(List.of("Burger Joint", "456 Elm St"), List.of("Pizza Place", "789 Oak St")),
+                inserted.stream().map(restaurant -> List.of(restaurant.name(), restaurant.address())).sorted(
+                        (a, b) -> (a.get(0) + a.get(1)).compareTo(b.get(0) + b.get(1))).toList());
+        assertEquals(inserted.stream().map(RestaurantSummaryDTO::id).sorted().toList(), jdbcTemplate.queryForList(
+                "select id from restaurants where address <> '123 Main St' order by id", Integer.class));
+        assertEquals(3, jdbcTemplate.queryForObject("select count(*) from restaurants", Integer.class));
+        assertEquals(List.of(0L, 0L, 0L), jdbcTemplate.queryForList(
+                "select menu_revision from restaurants order by id", Long.class));
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.catalogservice.Services;
+
+import org.example.catalogservice.DTO.CatalogChangeDTO;
+import org.example.catalogservice.DTO.ResponseDTO;
+import org.example.catalogservice.Events.CatalogChangesRecordedEvent;
+import org.example.catalogservice.Exceptions.InvalidPageRequestException;
+import org.example.catalogservice.Models.CatalogChange;
+import org.example.catalogservice.Repositories.CatalogChangeJdbcRepository;
+import org.example.catalogservice.Repositories.CatalogChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogChangeServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T12:00:00Z");
+
+    @Mock
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Mock
+    private CatalogChangeJdbcRepository catalogChangeJdbcRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CatalogChangeService catalogChangeService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(catalogChangeService, "gapTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(catalogChangeService, "gapHorizon", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(catalogChangeService, "maxWait", Duration.ofSeconds(60));
+    }
+
+    @Test
+    void testRecordSavesChangeAndPublishesEvent() {
+        catalogChangeService.record(CatalogChange.ChangeType.MENU_CHANGED, 4, 7L);
+
+        verify(catalogChangeRepository, times(1)).save(any(CatalogChange.class));
+        verify(eventPublisher, times(1)).publishEvent(any(CatalogChangesRecordedEvent.class));
+    }
+
+    @Test
+    void testRecordAllSkipsEmptyBatches() {
+        catalogChangeService.recordAll(CatalogChange.ChangeType.MENU_ITEM_CREATED, List.of());
+
+        verify(catalogChangeJdbcRepository, never()).insertAll(any(), anyCollection());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testGetChangesStopsAtRecentGap() {
+        Instant now = Instant.now();
+        when(catalogChangeRepository.findSince(10L, Limit.of(100))).thenReturn(List.of(
+                change(11, now), change(12, now), change(14, now), change(15, now)));
+
+        List<CatalogChangeDTO> changes = catalogChangeService.getChanges(10, 100);
+
+        assertEquals(List.of(11L, 12L), changes.stream().map(CatalogChangeDTO::sequence).toList());
+    }
+
+    @Test
+    void testGetChangesWaitsOnGapFromWhenItWasFirstSeen() {
+        // the later row was inserted well over gap-timeout ago, the gap is only noticed now
+        Instant inserted = NOW.minusSeconds(60);
+        when(catalogChangeRepository.findSince(10L, Limit.of(100))).thenReturn(List.of(
+                change(11, inserted), change(13, inserted), change(14, inserted)));
+
+        setClock(NOW);
+        assertEquals(List.of(11L), sequences(catalogChangeService.getChanges(10, 100)));
+        setClock(NOW.plusSeconds(4));
+        assertEquals(List.of(11L), sequences(catalogChangeService.getChanges(10, 100)));
+        setClock(NOW.plusSeconds(6));
+        assertEquals(List.of(11L, 13L, 14L), sequences(catalogChangeService.getChanges(10, 100)));
+    }
+
+    @Test
+    void testGetChangesLosesCommitLandingAfterGapTimeout() {
+        // the loss window: a sequence committing more than gap-timeout after a reader first waited on it
+        when(catalogChangeRepository.findSince(10L, Limit.of(100))).thenReturn(List.of(change(11, NOW), change(13, NOW)));
+        setClock(NOW);
+        assertEquals(List.of(11L), sequences(catalogChangeService.getChanges(10, 100)));
+        setClock(NOW.plusSeconds(6));
+        assertEquals(List.of(11L, 13L), sequences(catalogChangeService.getChanges(10, 100)));
+
+        when(catalogChangeRepository.findSince(13L, Limit.of(100))).thenReturn(List.of(change(14, NOW.plusSeconds(7))));
+        setClock(NOW.plusSeconds(7));
+        assertEquals(List.of(14L), sequences(catalogChangeService.getChanges(13, 100)));
+    }
+
+    @Test
+    void testGetChangesSkipsGapBehindRowsOlderThanHorizon() {
+        Instant old = NOW.minus(Duration.ofMinutes(11));
+        when(catalogChangeRepository.findSince(10L, Limit.of(100))).thenReturn(List.of(
+                change(11, old), change(13, old), change(15, NOW)));
+        setClock(NOW);
+
+        assertEquals(List.of(11L, 13L), sequences(catalogChangeService.getChanges(10, 100)));
+    }
+
+    @Test
+    void testGetChangesInvalidLimit() {
+        Exception exception = assertThrows(InvalidPageRequestException.class, () -> {
+            catalogChangeService.getChanges(0, 1001);
+        });
+
+        assertEquals("limit must be between 1 and 1000", exception.getMessage());
+        verify(catalogChangeRepository, never()).findSince(anyLong(), any());
+    }
+
+    @Test
+    void testAwaitChangesAnswersAtOnceWhenChangesExist() {
+        when(catalogChangeRepository.findSince(0L, Limit.of(100))).thenReturn(List.of(change(1, Instant.now())));
+
+        DeferredResult<ResponseDTO<List<CatalogChangeDTO>>> result =
+                catalogChangeService.awaitChanges(0, 100, Duration.ofSeconds(30));
+
+        assertTrue(result.hasResult());
+        assertEquals(1L, ((ResponseDTO<List<CatalogChangeDTO>>) result.getResult()).getData().get(0).sequence());
+    }
+
+    @Test
+    void testAwaitChangesWaitsForNextCommit() {
+        when(catalogChangeRepository.findSince(5L, Limit.of(100))).thenReturn(List.of());
+
+        DeferredResult<ResponseDTO<List<CatalogChangeDTO>>> result =
+                catalogChangeService.awaitChanges(5, 100, Duration.ofSeconds(30));
+        assertFalse(result.hasResult());
+
+        when(catalogChangeRepository.findSince(5L, Limit.of(100))).thenReturn(List.of(change(6, Instant.now())));
+        catalogChangeService.deliverToWaiters();
+
+        assertTrue(result.hasResult());
+        assertEquals(6L, ((ResponseDTO<List<CatalogChangeDTO>>) result.getResult()).getData().get(0).sequence());
+    }
+
+    @Test
+    void testAwaitChangesInvalidWait() {
+        Exception exception = assertThrows(InvalidPageRequestException.class, () -> {
+            catalogChangeService.awaitChanges(0, 100, Duration.ofSeconds(61));
+        });
+
+        assertEquals("wait must be between 0 and 60 seconds", exception.getMessage());
+    }
+
+    private void setClock(Instant now) {
+        ReflectionTestUtils.setField(catalogChangeService, "clock", Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static List<Long> sequences(List<CatalogChangeDTO> changes) {
+        return changes.stream().map(CatalogChangeDTO::sequence).toList();
+    }
+
+    private static CatalogChangeDTO change(long sequence, Instant createdAt) {
+        return new CatalogChangeDTO(sequence, CatalogChange.ChangeType.RESTAURANT_CREATED, (int) sequence, null, createdAt);
+    }
+}
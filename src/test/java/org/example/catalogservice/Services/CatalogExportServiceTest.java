@@ -0,0 +1,105 @@
+package org.example.catalogservice.Services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.Repositories.CatalogExportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CatalogExportServiceTest {
+
+    @Mock
+    private CatalogExportRepository catalogExportRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private CatalogExportService catalogExportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void testExportWritesOneLinePerRestaurant() throws IOException {
+        RestaurantSummaryDTO pizza = new RestaurantSummaryDTO(1, "Pizza Place", "123 Main St");
+        RestaurantSummaryDTO burger = new RestaurantSummaryDTO(2, "Burger Joint", "456 Elm St");
+        doAnswer(invocation -> {
+            BiConsumer<RestaurantSummaryDTO, MenuItemSummaryDTO> consumer = invocation.getArgument(1);
+            consumer.accept(pizza, new MenuItemSummaryDTO(10, "Margherita", 80));
+            consumer.accept(pizza, new MenuItemSummaryDTO(11, "Pepperoni", 90));
+            consumer.accept(burger, null);
+            return null;
+        }).when(catalogExportRepository).streamCatalog(eq(0), any());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        catalogExportService.exportCatalog(null, out);
+
+        assertEquals("{\"id\":1,\"name\":\"Pizza Place\",\"address\":\"123 Main St\",\"menuItems\":["
+                        + "{\"id\":10,\"name\":\"Margherita\",\"price\":80},{\"id\":11,\"name\":\"Pepperoni\",\"price\":90}]}\n"
+                        + "{\"id\":2,\"name\":\"Burger Joint\",\"address\":\"456 Elm St\",\"menuItems\":[]}\n",
+                out.toString(StandardCharsets.UTF_8));
+        verify(transactionTemplate, times(1)).executeWithoutResult(any());
+    }
+
+    @Test
+    void testExportResumesAfterRestaurantId() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        catalogExportService.exportCatalog(41, out);
+
+        assertEquals("", out.toString(StandardCharsets.UTF_8));
+        verify(catalogExportRepository, times(1)).streamCatalog(eq(41), any());
+    }
+
+    @Test
+    void testExportStopsWhenClientGoesAway() {
+        doAnswer(invocation -> {
+            BiConsumer<RestaurantSummaryDTO, MenuItemSummaryDTO> consumer = invocation.getArgument(1);
+            for (int i = 1; i <= 10_000; i++) {
+                consumer.accept(new RestaurantSummaryDTO(i, "restaurant-" + i, i + " Export Road"), null);
+            }
+            return null;
+        }).when(catalogExportRepository).streamCatalog(anyInt(), any());
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("connection reset");
+            }
+        };
+
+        IOException exception = assertThrows(IOException.class, () -> catalogExportService.exportCatalog(null, closed));
+
+        assertEquals("connection reset", exception.getMessage());
+    }
+}
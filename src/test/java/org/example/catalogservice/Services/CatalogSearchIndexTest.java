@@ -0,0 +1,104 @@
+package org.example.catalogservice.Services;
+
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.DTO.SearchHitDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSearchIndexTest {
+
+    private CatalogSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CatalogSearchIndex();
+        index.addRestaurants(List.of(
+                new RestaurantSummaryDTO(1, "Pizza Place", "123 Main St"),
+                new RestaurantSummaryDTO(2, "Burger Barn", "7 Pizza Lane")));
+        index.addMenuItems(List.of(
+                new MenuItemSummaryDTO(10, "Margherita Pizza", 80),
+                new MenuItemSummaryDTO(11, "Pepperoni Pizza", 120),
+                new MenuItemSummaryDTO(12, "Spizzico", 60),
+                new MenuItemSummaryDTO(13, "Pasta", 90)));
+    }
+
+    @Test
+    void testPrefixMatchesRankNameBeforeAddress() {
+        List<SearchHitDTO> hits = index.search("piz", null, 10);
+
+        assertEquals(List.of(1, 11, 10, 12, 2), ids(hits));
+        assertEquals(new SearchHitDTO(SearchHitDTO.Type.RESTAURANT, 1, "Pizza Place", "123 Main St", null), hits.get(0));
+    }
+
+    @Test
+    void testShortQueriesOnlyMatchWordPrefixes() {
+        assertEquals(List.of(13, 11), ids(index.search("p", SearchHitDTO.Type.MENU_ITEM, 2)));
+        assertEquals(List.of(11, 10), ids(index.search("pi", SearchHitDTO.Type.MENU_ITEM, 10)));
+    }
+
+    @Test
+    void testShortQueryResultsFollowAdditions() {
+        assertEquals(List.of(2), ids(index.search("b", SearchHitDTO.Type.RESTAURANT, 10)));
+
+        index.addRestaurants(List.of(new RestaurantSummaryDTO(3, "Bao House", "9 Canal St")));
+
+        assertEquals(List.of(3, 2), ids(index.search("b", SearchHitDTO.Type.RESTAURANT, 10)));
+    }
+
+    @Test
+    void testLongerQueriesAlsoMatchInsideWords() {
+        assertEquals(List.of(12), ids(index.search("izzi", null, 10)));
+    }
+
+    @Test
+    void testEveryQueryWordHasToMatch() {
+        assertEquals(List.of(10), ids(index.search("pizza marg", null, 10)));
+        assertEquals(List.of(2), ids(index.search("BURGER, pizza", null, 10)));
+        assertTrue(index.search("pizza sushi", null, 10).isEmpty());
+    }
+
+    @Test
+    void testTypeFilterAndLimit() {
+        assertEquals(List.of(1, 2), ids(index.search("pizza", SearchHitDTO.Type.RESTAURANT, 10)));
+        assertEquals(1, index.search("pizza", null, 1).size());
+    }
+
+    @Test
+    void testAddingAnIndexedDocumentAgainIsIgnored() {
+        long bytes = index.memoryBytes();
+
+        index.addMenuItems(List.of(new MenuItemSummaryDTO(13, "Pasta", 90)));
+
+        assertEquals(6, index.size());
+        assertEquals(bytes, index.memoryBytes());
+        assertEquals(1, index.search("pasta", null, 10).size());
+    }
+
+    @Test
+    void testMemoryGrowsWithDocuments() {
+        CatalogSearchIndex empty = new CatalogSearchIndex();
+        assertEquals(0, empty.memoryBytes());
+
+        empty.addMenuItems(List.of(new MenuItemSummaryDTO(1, "Margherita Pizza", 80)));
+        long one = empty.memoryBytes();
+        empty.addMenuItems(List.of(new MenuItemSummaryDTO(2, "Quattro Formaggi", 110)));
+
+        assertTrue(one > 0);
+        assertTrue(empty.memoryBytes() > one);
+    }
+
+    @Test
+    void testQueriesWithoutWordsFindNothing() {
+        assertTrue(index.search(" -- ", null, 10).isEmpty());
+        assertTrue(index.search("zzz", null, 10).isEmpty());
+    }
+
+    private static List<Integer> ids(List<SearchHitDTO> hits) {
+        return hits.stream().map(SearchHitDTO::id).toList();
+    }
+}
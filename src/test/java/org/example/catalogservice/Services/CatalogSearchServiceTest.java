@@ -0,0 +1,85 @@
+package org.example.catalogservice.Services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.DTO.SearchHitDTO;
+import org.example.catalogservice.Events.MenuItemsCreatedEvent;
+import org.example.catalogservice.Events.RestaurantsCreatedEvent;
+import org.example.catalogservice.Exceptions.InvalidSearchRequestException;
+import org.example.catalogservice.Repositories.MenuItemRepository;
+import org.example.catalogservice.Repositories.RestaurantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CatalogSearchServiceTest {
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private MenuItemRepository menuItemRepository;
+
+    private SimpleMeterRegistry registry;
+    private CatalogSearchService catalogSearchService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        registry = new SimpleMeterRegistry();
+        catalogSearchService = new CatalogSearchService(restaurantRepository, menuItemRepository, registry);
+    }
+
+    @Test
+    void testLoadIndexReadsEveryPage() {
+        List<MenuItemSummaryDTO> firstPage = IntStream.rangeClosed(1, 1000)
+                .mapToObj(i -> new MenuItemSummaryDTO(i, "item " + i, 10))
+                .toList();
+        when(restaurantRepository.findSummariesAfter(eq(0), any(Limit.class)))
+                .thenReturn(List.of(new RestaurantSummaryDTO(1, "Pizza Place", "123 Main St")));
+        when(restaurantRepository.findSummariesAfter(eq(1), any(Limit.class))).thenReturn(List.of());
+        when(menuItemRepository.findSummariesAfter(eq(0), any(Limit.class))).thenReturn(firstPage);
+        when(menuItemRepository.findSummariesAfter(eq(1000), any(Limit.class)))
+                .thenReturn(List.of(new MenuItemSummaryDTO(1001, "Margherita Pizza", 80)));
+        when(menuItemRepository.findSummariesAfter(eq(1001), any(Limit.class))).thenReturn(List.of());
+
+        catalogSearchService.loadIndex();
+
+        assertEquals(1002, registry.get("catalog.search.index.documents").gauge().value());
+        assertTrue(registry.get("catalog.search.index.bytes").gauge().value() > 0);
+        assertEquals(List.of(1, 1001), catalogSearchService.search("pizza", null, 10).stream()
+                .map(SearchHitDTO::id).toList());
+    }
+
+    @Test
+    void testCommittedCreationsAreSearchable() {
+        catalogSearchService.onRestaurantsCreated(new RestaurantsCreatedEvent(List.of(
+                new RestaurantSummaryDTO(3, "Burger Barn", "7 High St"))));
+        catalogSearchService.onMenuItemsCreated(new MenuItemsCreatedEvent(List.of(
+                new MenuItemSummaryDTO(4, "Cheese Burger", 150))));
+
+        assertEquals(List.of(
+                        new SearchHitDTO(SearchHitDTO.Type.RESTAURANT, 3, "Burger Barn", "7 High St", null),
+                        new SearchHitDTO(SearchHitDTO.Type.MENU_ITEM, 4, "Cheese Burger", null, 150)),
+                catalogSearchService.search("burg", null, 10));
+    }
+
+    @Test
+    void testInvalidRequestsAreRejected() {
+        assertThrows(InvalidSearchRequestException.class, () -> catalogSearchService.search(" ", null, 10));
+        assertThrows(InvalidSearchRequestException.class, () -> catalogSearchService.search("a".repeat(101), null, 10));
+        assertThrows(InvalidSearchRequestException.class, () -> catalogSearchService.search("pizza", null, 0));
+        assertThrows(InvalidSearchRequestException.class, () -> catalogSearchService.search("pizza", null, 51));
+    }
+}
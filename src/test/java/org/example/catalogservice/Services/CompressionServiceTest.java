@@ -0,0 +1,47 @@
+package org.example.catalogservice.Services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressionServiceTest {
+
+    private SimpleMeterRegistry registry;
+    private CompressionService compressionService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        compressionService = new CompressionService(registry, DataSize.ofBytes(1024), 9);
+    }
+
+    @Test
+    void testGzipAboveThresholdRecordsRatio() throws IOException {
+        byte[] body = "{\"id\":1,\"name\":\"Pizza\",\"price\":100},".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        byte[] compressed = compressionService.gzip(body);
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(body, gzip.readAllBytes());
+        }
+        assertEquals(1, registry.get("catalog.compression").timer().count());
+        assertEquals((double) body.length / compressed.length,
+                registry.get("catalog.compression.ratio").summary().totalAmount(), 1e-9);
+        assertEquals(body.length, registry.get("catalog.compression.bytes").tag("stage", "in").counter().count());
+        assertEquals(compressed.length, registry.get("catalog.compression.bytes").tag("stage", "out").counter().count());
+    }
+
+    @Test
+    void testGzipBelowThresholdReturnsNull() {
+        assertNull(compressionService.gzip(new byte[1023]));
+        assertEquals(0, registry.get("catalog.compression").timer().count());
+    }
+}
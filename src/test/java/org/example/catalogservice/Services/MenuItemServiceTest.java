@@ -1,6 +1,13 @@
 package org.example.catalogservice.Services;
 
+import org.example.catalogservice.DTO.BulkInsertResultDTO;
+import org.example.catalogservice.DTO.BulkRowErrorDTO;
+import org.example.catalogservice.DTO.LookupResultDTO;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.RequestDTO;
+import org.example.catalogservice.Events.MenuItemsCreatedEvent;
 import org.example.catalogservice.Exceptions.*;
+import org.example.catalogservice.Models.CatalogChange;
 import org.example.catalogservice.Models.MenuItem;
 import org.example.catalogservice.Repositories.MenuItemRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,10 +15,20 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -23,22 +40,38 @@ class MenuItemServiceTest {
     @Mock
     private MenuItemRepository menuItemRepository;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CatalogChangeService catalogChangeService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MenuItemService menuItemService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
     }
 
     @Test
     void testAddMenuItem() {
-        when(menuItemRepository.save(any(MenuItem.class))).thenReturn(new MenuItem());
+        when(menuItemRepository.saveAndFlush(any(MenuItem.class))).thenReturn(new MenuItem());
 
         String response = menuItemService.addMenuItem("Margherita Pizza", 80);
 
         assertEquals("menu item added successfully", response);
-        verify(menuItemRepository, times(1)).save(any(MenuItem.class));
+        verify(menuItemRepository, times(1)).saveAndFlush(any(MenuItem.class));
+        verify(catalogChangeService, times(1)).record(CatalogChange.ChangeType.MENU_ITEM_CREATED, null, null);
+        verify(eventPublisher, times(1)).publishEvent(any(MenuItemsCreatedEvent.class));
     }
 
     @Test
@@ -48,7 +81,7 @@ class MenuItemServiceTest {
         });
 
         assertEquals("name cannot be null or empty and price cannot be less than or equal to 0", exception.getMessage());
-        verify(menuItemRepository, never()).save(any(MenuItem.class));
+        verify(menuItemRepository, never()).saveAndFlush(any(MenuItem.class));
     }
 
     @Test
@@ -58,12 +91,12 @@ class MenuItemServiceTest {
         });
 
         assertEquals("name cannot be null or empty and price cannot be less than or equal to 0", exception.getMessage());
-        verify(menuItemRepository, never()).save(any(MenuItem.class));
+        verify(menuItemRepository, never()).saveAndFlush(any(MenuItem.class));
     }
 
     @Test
     void testAddDuplicateMenuItemThrowsException() {
-        when(menuItemRepository.save(any(MenuItem.class)))
+        when(menuItemRepository.saveAndFlush(any(MenuItem.class)))
                 .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
 
         Exception exception = assertThrows(MenuItemAlreadyAddedException.class, () -> {
@@ -71,7 +104,27 @@ class MenuItemServiceTest {
         });
 
         assertEquals("menu item already added", exception.getMessage());
-        verify(menuItemRepository, times(1)).save(any(MenuItem.class));
+        verify(menuItemRepository, times(1)).saveAndFlush(any(MenuItem.class));
+        verify(catalogChangeService, never()).record(any(), any(), any());
+    }
+
+    @Test
+    void testFindSummaryByIdSuccess() {
+        when(menuItemRepository.findSummaryById(1)).thenReturn(Optional.of(new MenuItemSummaryDTO(1, "Pizza", 100)));
+
+        assertEquals(new MenuItemSummaryDTO(1, "Pizza", 100), menuItemService.findSummaryById(1));
+        verify(menuItemRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void testFindSummaryByIdNotFound() {
+        when(menuItemRepository.findSummaryById(420)).thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(MenuItemDoesNotExistException.class, () -> {
+            menuItemService.findSummaryById(420);
+        });
+
+        assertEquals("menu item does not exist", exception.getMessage());
     }
 
     @Test
@@ -97,57 +150,188 @@ class MenuItemServiceTest {
 
     @Test
     void testFindAllMenuItemsSuccess() {
-        MenuItem menuItem = new MenuItem("Margherita Pizza", 80);
-        when(menuItemRepository.findAll()).thenReturn(List.of(menuItem));
+        MenuItemSummaryDTO menuItem = new MenuItemSummaryDTO(1, "Margherita Pizza", 80);
+        when(menuItemRepository.findSummariesAfter(0, Limit.of(100))).thenReturn(List.of(menuItem));
 
-        List<MenuItem> menuItems = menuItemService.findAllMenuItems();
+        List<MenuItemSummaryDTO> menuItems = menuItemService.findAllMenuItems(null, 100);
 
         assertNotNull(menuItems);
         assertEquals(1, menuItems.size());
-        assertEquals("Margherita Pizza", menuItems.get(0).getName());
-        verify(menuItemRepository, times(1)).findAll();
+        assertEquals("Margherita Pizza", menuItems.get(0).name());
+        verify(menuItemRepository, times(1)).findSummariesAfter(0, Limit.of(100));
+    }
+
+    @Test
+    void testFindAllMenuItemsPastLastPageReturnsEmptyList() {
+        when(menuItemRepository.findSummariesAfter(42, Limit.of(10))).thenReturn(List.of());
+
+        List<MenuItemSummaryDTO> menuItems = menuItemService.findAllMenuItems(42, 10);
+
+        assertTrue(menuItems.isEmpty());
     }
 
     @Test
     void testFindAllMenuItemsNotFound() {
-        when(menuItemRepository.findAll()).thenReturn(List.of());
+        when(menuItemRepository.findSummariesAfter(0, Limit.of(100))).thenReturn(List.of());
 
         Exception exception = assertThrows(MenuItemDoesNotExistException.class, () -> {
-            menuItemService.findAllMenuItems();
+            menuItemService.findAllMenuItems(null, 100);
         });
 
         assertEquals("no menu items found", exception.getMessage());
-        verify(menuItemRepository, times(1)).findAll();
+        verify(menuItemRepository, times(1)).findSummariesAfter(0, Limit.of(100));
     }
 
     @Test
-    void testFindAllByIdSuccess() {
+    void testFindAllMenuItemsInvalidLimit() {
+        Exception exception = assertThrows(InvalidPageRequestException.class, () -> {
+            menuItemService.findAllMenuItems(null, 0);
+        });
+
+        assertEquals("limit must be between 1 and 1000", exception.getMessage());
+    }
+
+    @Test
+    void testFindSummariesByIdSuccess() {
         List<Integer> menuItemIds = List.of(1, 2);
-        MenuItem menuItem1 = new MenuItem("Pizza", 100);
-        MenuItem menuItem2 = new MenuItem("Burger", 50);
 
-        when(menuItemRepository.findAllById(menuItemIds)).thenReturn(List.of(menuItem1, menuItem2));
+        when(menuItemRepository.findSummariesByIdIn(menuItemIds)).thenReturn(List.of(
+                new MenuItemSummaryDTO(1, "Pizza", 100), new MenuItemSummaryDTO(2, "Burger", 50)));
 
-        List<MenuItem> menuItems = menuItemService.findAllById(menuItemIds);
+        List<MenuItemSummaryDTO> menuItems = menuItemService.findSummariesById(menuItemIds);
 
         assertNotNull(menuItems);
         assertEquals(2, menuItems.size());
-        assertEquals("Pizza", menuItems.get(0).getName());
-        assertEquals("Burger", menuItems.get(1).getName());
-        verify(menuItemRepository, times(1)).findAllById(menuItemIds);
+        assertEquals("Pizza", menuItems.get(0).name());
+        assertEquals("Burger", menuItems.get(1).name());
+        verify(menuItemRepository, times(1)).findSummariesByIdIn(menuItemIds);
+        verify(menuItemRepository, never()).findAllById(any());
     }
 
     @Test
-    void testFindAllByIdMenuItemNotFound() {
+    void testFindSummariesByIdMenuItemNotFound() {
         List<Integer> menuItemIds = List.of(1, 2);
 
-        when(menuItemRepository.findAllById(menuItemIds)).thenReturn(List.of());
+        when(menuItemRepository.findSummariesByIdIn(menuItemIds)).thenReturn(List.of(new MenuItemSummaryDTO(1, "Pizza", 100)));
 
         Exception exception = assertThrows(MenuItemDoesNotExistException.class, () -> {
-            menuItemService.findAllById(menuItemIds);
+            menuItemService.findSummariesById(menuItemIds);
         });
 
         assertEquals("one or more menu items do not exist", exception.getMessage());
-        verify(menuItemRepository, times(1)).findAllById(menuItemIds);
+        verify(menuItemRepository, times(1)).findSummariesByIdIn(menuItemIds);
+    }
+
+    @Test
+    void testLookupSummariesKeepsRequestOrderAndMarksMissingIds() {
+        when(menuItemRepository.findSummariesByIdIn(Set.of(3, 1, 7))).thenReturn(List.of(
+                new MenuItemSummaryDTO(1, "Pizza", 100), new MenuItemSummaryDTO(3, "Burger", 50)));
+
+        List<LookupResultDTO<MenuItemSummaryDTO>> results = menuItemService.lookupSummaries(List.of(3, 7, 1, 3));
+
+        assertEquals(List.of(
+                LookupResultDTO.of(3, new MenuItemSummaryDTO(3, "Burger", 50)),
+                LookupResultDTO.of(7, null),
+                LookupResultDTO.of(1, new MenuItemSummaryDTO(1, "Pizza", 100)),
+                LookupResultDTO.of(3, new MenuItemSummaryDTO(3, "Burger", 50))), results);
+        assertFalse(results.get(1).found());
+        verify(menuItemRepository, times(1)).findSummariesByIdIn(Set.of(3, 1, 7));
+    }
+
+    @Test
+    void testLookupSummariesRejectsEmptyAndOversizedRequests() {
+        List<Integer> tooMany = IntStream.rangeClosed(1, MenuItemService.MAX_LOOKUP_SIZE + 1).boxed().toList();
+
+        assertThrows(InvalidBulkRequestException.class, () -> menuItemService.lookupSummaries(List.of()));
+        assertThrows(InvalidBulkRequestException.class, () -> menuItemService.lookupSummaries(tooMany));
+        assertThrows(InvalidBulkRequestException.class, () -> menuItemService.lookupSummaries(Arrays.asList(1, null)));
+        verifyNoInteractions(menuItemRepository);
+    }
+
+    @Test
+    void testAddMenuItemsInsertsInBatches() {
+        ReflectionTestUtils.setField(menuItemService, "batchSize", 2);
+        when(menuItemRepository.findSummariesByNameIn(any())).thenReturn(List.of());
+
+        BulkInsertResultDTO result = menuItemService.addMenuItems(List.of(
+                request("Pizza", 100), request("Burger", 50), request("Fries", 30)).iterator());
+
+        assertEquals(3, result.getReceived());
+        assertEquals(3, result.getCreated());
+        assertTrue(result.getRejected().isEmpty());
+        verify(menuItemRepository, times(2)).saveAllAndFlush(anyList());
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(catalogChangeService, times(2)).recordAll(eq(CatalogChange.ChangeType.MENU_ITEM_CREATED), anyList());
+    }
+
+    @Test
+    void testAddMenuItemsRejectsInvalidAndDuplicateRows() {
+        ReflectionTestUtils.setField(menuItemService, "batchSize", 10);
+        when(menuItemRepository.findSummariesByNameIn(any()))
+                .thenReturn(List.of(new MenuItemSummaryDTO(7, "Pizza", 100)));
+
+        BulkInsertResultDTO result = menuItemService.addMenuItems(List.of(
+                request("Pizza", 100), request("", 10), request("Burger", 50), request("Burger", 50)).iterator());
+
+        assertEquals(4, result.getReceived());
+        assertEquals(1, result.getCreated());
+        assertEquals(List.of(
+                new BulkRowErrorDTO(1, "name cannot be null or empty and price cannot be less than or equal to 0"),
+                new BulkRowErrorDTO(0, "menu item already added"),
+                new BulkRowErrorDTO(3, "menu item already added")), result.getRejected());
+    }
+
+    @Test
+    void testAddMenuItemsFallsBackToSingleRowsOnConflict() {
+        ReflectionTestUtils.setField(menuItemService, "batchSize", 10);
+        when(menuItemRepository.findSummariesByNameIn(any())).thenReturn(List.of());
+        when(menuItemRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+        when(menuItemRepository.saveAndFlush(any(MenuItem.class)))
+                .thenReturn(new MenuItem())
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        BulkInsertResultDTO result = menuItemService.addMenuItems(List.of(
+                request("Pizza", 100), request("Burger", 50)).iterator());
+
+        assertEquals(1, result.getCreated());
+        assertEquals(List.of(new BulkRowErrorDTO(1, "menu item already added")), result.getRejected());
+        verify(menuItemRepository, times(2)).saveAndFlush(any(MenuItem.class));
+    }
+
+    @Test
+    void testAddMenuItemsStopsAtMalformedRowAndKeepsEarlierRows() {
+        ReflectionTestUtils.setField(menuItemService, "batchSize", 2);
+        when(menuItemRepository.findSummariesByNameIn(any())).thenReturn(List.of());
+        Iterator<RequestDTO> valid = List.of(request("Pizza", 100), request("Burger", 50), request("Fries", 30)).iterator();
+        Iterator<RequestDTO> requests = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public RequestDTO next() {
+                if (valid.hasNext()) {
+                    return valid.next();
+                }
+                throw new MalformedBulkRowException("malformed menu item");
+            }
+        };
+
+        BulkInsertResultDTO result = menuItemService.addMenuItems(requests);
+
+        assertTrue(result.isTruncated());
+        assertEquals(3, result.getReceived());
+        assertEquals(3, result.getCreated());
+        assertEquals(List.of(new BulkRowErrorDTO(3, "malformed menu item")), result.getRejected());
+        verify(menuItemRepository, times(2)).saveAllAndFlush(anyList());
+    }
+
+    private static RequestDTO request(String name, int price) {
+        RequestDTO request = new RequestDTO();
+        request.setName(name);
+        request.setPrice(price);
+        return request;
     }
 }
\ No newline at end of file
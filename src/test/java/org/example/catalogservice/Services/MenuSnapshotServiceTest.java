@@ -0,0 +1,203 @@
+package org.example.catalogservice.Services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.MenuQueryDTO;
+import org.example.catalogservice.DTO.MenuSnapshotDTO;
+import org.example.catalogservice.Events.MenuItemsAssignedEvent;
+import org.example.catalogservice.Exceptions.RestaurantDoesNotExistException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MenuSnapshotServiceTest {
+
+    @Mock
+    private RestaurantService restaurantService;
+
+    private SimpleMeterRegistry registry;
+    private MenuSnapshotService menuSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        registry = new SimpleMeterRegistry();
+        menuSnapshotService = new MenuSnapshotService(restaurantService, new ObjectMapper(),
+                new CompressionService(registry, DataSize.ofBytes(0), 6), registry, 1 << 20, true);
+    }
+
+    @Test
+    void testGetSnapshotSerializesMenuOnce() throws IOException {
+        when(restaurantService.getAllMenuItemsByRestaurantId(1))
+                .thenReturn(List.of(new MenuItemSummaryDTO(1, "Pizza", 100)));
+
+        MenuSnapshotDTO first = menuSnapshotService.getSnapshot(1, 0L);
+        MenuSnapshotDTO second = menuSnapshotService.getSnapshot(1, 0L);
+
+        String expected = "{\"statusCode\":200,\"data\":[{\"id\":1,\"name\":\"Pizza\",\"price\":100}]}";
+        assertEquals(expected, new String(first.json(), StandardCharsets.UTF_8));
+        assertEquals(expected, gunzip(first.gzip()));
+        assertSame(first, second);
+        assertEquals(1, registry.get("catalog.menu.snapshot.build").timer().count());
+        verify(restaurantService, times(1)).getAllMenuItemsByRestaurantId(1);
+    }
+
+    @Test
+    void testGetSnapshotLoadsOutsideTheCacheAndKeepsTheNewestRevision() {
+        MenuItemSummaryDTO pizza = new MenuItemSummaryDTO(1, "Pizza", 100);
+        MenuItemSummaryDTO fries = new MenuItemSummaryDTO(2, "Fries", 50);
+        // the first load is overtaken by a newer one, which a load inside the cache's compute could not do
+        when(restaurantService.getAllMenuItemsByRestaurantId(1))
+                .thenAnswer(invocation -> {
+                    menuSnapshotService.getSnapshot(1, 2L);
+                    return List.of(pizza);
+                })
+                .thenReturn(List.of(pizza, fries));
+
+        MenuSnapshotDTO snapshot = menuSnapshotService.getSnapshot(1, 1L);
+
+        assertEquals(2L, snapshot.revision());
+        assertEquals(List.of(pizza, fries), snapshot.items());
+        assertSame(snapshot, menuSnapshotService.getSnapshot(1, 2L));
+        verify(restaurantService, times(2)).getAllMenuItemsByRestaurantId(1);
+    }
+
+    @Test
+    void testFindMenuItemsUsesThePriceIndexOfACurrentSnapshot() {
+        when(restaurantService.getAllMenuItemsByRestaurantId(1)).thenReturn(List.of(
+                new MenuItemSummaryDTO(1, "Pizza", 300),
+                new MenuItemSummaryDTO(2, "Fries", 100),
+                new MenuItemSummaryDTO(3, "Burger", 200),
+                new MenuItemSummaryDTO(4, "Soda", 50),
+                new MenuItemSummaryDTO(5, "Salad", 100)));
+        when(restaurantService.findMenuRevision(1)).thenReturn(Optional.of(0L));
+        menuSnapshotService.getSnapshot(1, 0L);
+
+        List<MenuItemSummaryDTO> cheapest = menuSnapshotService.findMenuItems(1, new MenuQueryDTO(100, 300, true, 3));
+        List<MenuItemSummaryDTO> byId = menuSnapshotService.findMenuItems(1, new MenuQueryDTO(100, 250, false, 10));
+
+        assertEquals(List.of(2, 5, 3), cheapest.stream().map(MenuItemSummaryDTO::id).toList());
+        assertEquals(List.of(2, 3, 5), byId.stream().map(MenuItemSummaryDTO::id).toList());
+        assertTrue(menuSnapshotService.findMenuItems(1, new MenuQueryDTO(301, 400, true, 10)).isEmpty());
+        assertEquals(3, registry.get("catalog.menu.query").tag("source", "snapshot").counter().count());
+        verify(restaurantService, never()).findMenuItems(anyInt(), any());
+    }
+
+    @Test
+    void testFindMenuItemsGoesToTheDatabaseWithoutACurrentSnapshot() {
+        MenuQueryDTO query = new MenuQueryDTO(0, 100, true, 10);
+        when(restaurantService.getAllMenuItemsByRestaurantId(1)).thenReturn(List.of(new MenuItemSummaryDTO(1, "Pizza", 100)));
+        when(restaurantService.findMenuRevision(1)).thenReturn(Optional.of(1L));
+        when(restaurantService.findMenuItems(1, query)).thenReturn(List.of(new MenuItemSummaryDTO(2, "Fries", 50)));
+        menuSnapshotService.getSnapshot(1, 0L);
+
+        List<MenuItemSummaryDTO> menuItems = menuSnapshotService.findMenuItems(1, query);
+
+        assertEquals(List.of(new MenuItemSummaryDTO(2, "Fries", 50)), menuItems);
+        assertEquals(1, registry.get("catalog.menu.query").tag("source", "database").counter().count());
+        // a filtered read does not build or refresh the snapshot
+        verify(restaurantService, times(1)).getAllMenuItemsByRestaurantId(1);
+    }
+
+    @Test
+    void testFindMenuItemsForUnknownRestaurant() {
+        when(restaurantService.findMenuRevision(9)).thenReturn(Optional.empty());
+
+        assertThrows(RestaurantDoesNotExistException.class,
+                () -> menuSnapshotService.findMenuItems(9, new MenuQueryDTO(0, 100, true, 10)));
+    }
+
+    @Test
+    void testGetSnapshotWithoutGzip() {
+        menuSnapshotService = new MenuSnapshotService(restaurantService, new ObjectMapper(),
+                new CompressionService(registry, DataSize.ofBytes(0), 6), registry, 1 << 20, false);
+        when(restaurantService.getAllMenuItemsByRestaurantId(1))
+                .thenReturn(List.of(new MenuItemSummaryDTO(1, "Pizza", 100)));
+
+        assertNull(menuSnapshotService.getSnapshot(1, 0L).gzip());
+    }
+
+    @Test
+    void testGetSnapshotDoesNotCacheFailures() {
+        when(restaurantService.getAllMenuItemsByRestaurantId(1))
+                .thenThrow(new RestaurantDoesNotExistException("restaurant does not exist"));
+
+        assertThrows(RestaurantDoesNotExistException.class, () -> menuSnapshotService.getSnapshot(1, 0L));
+        assertThrows(RestaurantDoesNotExistException.class, () -> menuSnapshotService.getSnapshot(1, 0L));
+
+        verify(restaurantService, times(2)).getAllMenuItemsByRestaurantId(1);
+    }
+
+    @Test
+    void testAssignedItemsAreAppendedWithoutReloadingMenu() {
+        when(restaurantService.getAllMenuItemsByRestaurantId(1))
+                .thenReturn(List.of(new MenuItemSummaryDTO(1, "Pizza", 100)));
+        menuSnapshotService.getSnapshot(1, 0L);
+
+        menuSnapshotService.onMenuItemsAssigned(new MenuItemsAssignedEvent(1, 1L, List.of(
+                new MenuItemSummaryDTO(1, "Pizza", 100),
+                new MenuItemSummaryDTO(2, "Burger", 50))));
+        MenuSnapshotDTO snapshot = menuSnapshotService.getSnapshot(1, 1L);
+
+        assertEquals(1L, snapshot.revision());
+        assertEquals(List.of(new MenuItemSummaryDTO(1, "Pizza", 100), new MenuItemSummaryDTO(2, "Burger", 50)),
+                snapshot.items());
+        assertTrue(new String(snapshot.json(), StandardCharsets.UTF_8).contains("\"name\":\"Burger\""));
+        verify(restaurantService, times(1)).getAllMenuItemsByRestaurantId(1);
+    }
+
+    @Test
+    void testSnapshotMissingAnAssignmentIsDropped() {
+        when(restaurantService.getAllMenuItemsByRestaurantId(1))
+                .thenReturn(List.of(new MenuItemSummaryDTO(1, "Pizza", 100)));
+        menuSnapshotService.getSnapshot(1, 0L);
+
+        menuSnapshotService.onMenuItemsAssigned(new MenuItemsAssignedEvent(1, 2L, List.of(new MenuItemSummaryDTO(3, "Pasta", 70))));
+        menuSnapshotService.getSnapshot(1, 0L);
+
+        verify(restaurantService, times(2)).getAllMenuItemsByRestaurantId(1);
+    }
+
+    @Test
+    void testOlderSnapshotIsRebuiltForNewerRevision() {
+        when(restaurantService.getAllMenuItemsByRestaurantId(1))
+                .thenReturn(List.of(new MenuItemSummaryDTO(1, "Pizza", 100)));
+
+        MenuSnapshotDTO first = menuSnapshotService.getSnapshot(1, 0L);
+        MenuSnapshotDTO second = menuSnapshotService.getSnapshot(1, 3L);
+
+        assertEquals(0L, first.revision());
+        assertEquals(3L, second.revision());
+        assertSame(second, menuSnapshotService.getSnapshot(1, 2L));
+        verify(restaurantService, times(2)).getAllMenuItemsByRestaurantId(1);
+    }
+
+    @Test
+    void testAssignmentToUncachedRestaurantIsIgnored() {
+        menuSnapshotService.onMenuItemsAssigned(new MenuItemsAssignedEvent(2, 1L, List.of(new MenuItemSummaryDTO(2, "Burger", 50))));
+        when(restaurantService.getAllMenuItemsByRestaurantId(2))
+                .thenReturn(List.of(new MenuItemSummaryDTO(2, "Burger", 50)));
+
+        assertEquals(1, menuSnapshotService.getSnapshot(2, 0L).items().size());
+        verify(restaurantService, times(1)).getAllMenuItemsByRestaurantId(2);
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.catalogservice.Services;
+
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.Exceptions.InvalidPageRequestException;
+import org.example.catalogservice.Exceptions.MenuItemDoesNotExistException;
+import org.example.catalogservice.Exceptions.RestaurantDoesNotExistException;
+import org.example.catalogservice.Repositories.ReactiveCatalogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class ReactiveCatalogServiceTest {
+
+    @Mock
+    private ReactiveCatalogRepository reactiveCatalogRepository;
+
+    @InjectMocks
+    private ReactiveCatalogService reactiveCatalogService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testFindAllRestaurantsSuccess() {
+        when(reactiveCatalogRepository.existsAnyRestaurant()).thenReturn(Mono.just(true));
+        when(reactiveCatalogRepository.findRestaurantsAfter(0, 2)).thenReturn(Flux.just(
+                new RestaurantSummaryDTO(1, "Pizza Place", "123 Main St"),
+                new RestaurantSummaryDTO(2, "Burger Joint", "456 Elm St")));
+
+        StepVerifier.create(reactiveCatalogService.findAllRestaurants(null, 2).flatMapMany(restaurants -> restaurants))
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindAllRestaurantsNotFound() {
+        when(reactiveCatalogRepository.existsAnyRestaurant()).thenReturn(Mono.just(false));
+        when(reactiveCatalogRepository.findRestaurantsAfter(0, 100)).thenReturn(Flux.empty());
+
+        StepVerifier.create(reactiveCatalogService.findAllRestaurants(null, 100))
+                .verifyErrorMessage("no restaurants found");
+    }
+
+    @Test
+    void testFindAllRestaurantsPastLastPageIsEmpty() {
+        when(reactiveCatalogRepository.findRestaurantsAfter(5, 100)).thenReturn(Flux.empty());
+
+        StepVerifier.create(reactiveCatalogService.findAllRestaurants(5, 100).flatMapMany(restaurants -> restaurants))
+                .verifyComplete();
+
+        verify(reactiveCatalogRepository, never()).existsAnyRestaurant();
+    }
+
+    @Test
+    void testFindAllRestaurantsInvalidLimit() {
+        StepVerifier.create(reactiveCatalogService.findAllRestaurants(null, 0))
+                .verifyError(InvalidPageRequestException.class);
+
+        verify(reactiveCatalogRepository, never()).findRestaurantsAfter(anyInt(), anyInt());
+    }
+
+    @Test
+    void testFindByIdNotFound() {
+        when(reactiveCatalogRepository.findRestaurantById(1)).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveCatalogService.findById(1))
+                .verifyError(RestaurantDoesNotExistException.class);
+    }
+
+    @Test
+    void testGetAllMenuItemsByRestaurantIdSuccessSkipsRestaurantCheck() {
+        when(reactiveCatalogRepository.existsMenuByRestaurantId(1)).thenReturn(Mono.just(true));
+        when(reactiveCatalogRepository.findMenuByRestaurantId(1))
+                .thenReturn(Flux.just(new MenuItemSummaryDTO(1, "Pizza", 100)));
+
+        StepVerifier.create(reactiveCatalogService.getAllMenuItemsByRestaurantId(1).flatMapMany(menu -> menu))
+                .expectNext(new MenuItemSummaryDTO(1, "Pizza", 100))
+                .verifyComplete();
+
+        verify(reactiveCatalogRepository, never()).existsRestaurantById(anyInt());
+    }
+
+    @Test
+    void testGetAllMenuItemsByRestaurantIdRestaurantNotFound() {
+        when(reactiveCatalogRepository.existsMenuByRestaurantId(1)).thenReturn(Mono.just(false));
+        when(reactiveCatalogRepository.existsRestaurantById(1)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(reactiveCatalogService.getAllMenuItemsByRestaurantId(1))
+                .verifyError(RestaurantDoesNotExistException.class);
+        verify(reactiveCatalogRepository, never()).findMenuByRestaurantId(anyInt());
+    }
+
+    @Test
+    void testGetAllMenuItemsByRestaurantIdNoMenuItems() {
+        when(reactiveCatalogRepository.existsMenuByRestaurantId(1)).thenReturn(Mono.just(false));
+        when(reactiveCatalogRepository.existsRestaurantById(1)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(reactiveCatalogService.getAllMenuItemsByRestaurantId(1))
+                .verifyError(MenuItemDoesNotExistException.class);
+    }
+
+    @Test
+    void testGetSelectedMenuItemByRestaurantIdNotOwned() {
+        when(reactiveCatalogRepository.findMenuItemByRestaurantId(1, 2)).thenReturn(Mono.empty());
+        when(reactiveCatalogRepository.existsRestaurantById(1)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(reactiveCatalogService.getSelectedMenuItemByRestaurantId(1, 2))
+                .verifyErrorMessage("Restaurant does not own the menu item with id: 2");
+    }
+
+    @Test
+    void testGetSelectedMenuItemByRestaurantIdRestaurantNotFound() {
+        when(reactiveCatalogRepository.findMenuItemByRestaurantId(1, 2)).thenReturn(Mono.empty());
+        when(reactiveCatalogRepository.existsRestaurantById(1)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(reactiveCatalogService.getSelectedMenuItemByRestaurantId(1, 2))
+                .verifyError(RestaurantDoesNotExistException.class);
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.catalogservice.Services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.catalogservice.DTO.ResponseSnapshotDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.Events.CatalogChangesRecordedEvent;
+import org.example.catalogservice.Exceptions.RestaurantDoesNotExistException;
+import org.example.catalogservice.Models.CatalogChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RestaurantPageSnapshotServiceTest {
+
+    @Mock
+    private RestaurantService restaurantService;
+
+    private RestaurantPageSnapshotService restaurantPageSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        restaurantPageSnapshotService = new RestaurantPageSnapshotService(restaurantService, new ObjectMapper(),
+                new CompressionService(registry, DataSize.ofKilobytes(2), 6), registry, 1 << 20, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testGetPageSerializesOnceWithNextCursor() {
+        when(restaurantService.findAllRestaurants(5, 1))
+                .thenReturn(List.of(new RestaurantSummaryDTO(7, "Pizza Place", "123 Main St")));
+
+        ResponseSnapshotDTO first = restaurantPageSnapshotService.getPage(5, 1);
+        ResponseSnapshotDTO second = restaurantPageSnapshotService.getPage(5, 1);
+
+        assertEquals("{\"statusCode\":200,\"data\":[{\"id\":7,\"name\":\"Pizza Place\",\"address\":\"123 Main St\"}],"
+                + "\"nextCursor\":7}", new String(first.json(), StandardCharsets.UTF_8));
+        // below the 2KB threshold
+        assertNull(first.gzip());
+        assertSame(first, second);
+        verify(restaurantService, times(1)).findAllRestaurants(5, 1);
+    }
+
+    @Test
+    void testRestaurantCreationDropsCachedPages() {
+        when(restaurantService.findAllRestaurants(null, 100))
+                .thenReturn(List.of(new RestaurantSummaryDTO(1, "Pizza Place", "123 Main St")));
+        restaurantPageSnapshotService.getPage(null, 100);
+
+        restaurantPageSnapshotService.onChangesRecorded(new CatalogChangesRecordedEvent(CatalogChange.ChangeType.MENU_CHANGED));
+        restaurantPageSnapshotService.getPage(null, 100);
+        verify(restaurantService, times(1)).findAllRestaurants(null, 100);
+
+        restaurantPageSnapshotService.onChangesRecorded(new CatalogChangesRecordedEvent(CatalogChange.ChangeType.RESTAURANT_CREATED));
+        restaurantPageSnapshotService.getPage(null, 100);
+        verify(restaurantService, times(2)).findAllRestaurants(null, 100);
+    }
+
+    @Test
+    void testGetPageDoesNotCacheErrors() {
+        when(restaurantService.findAllRestaurants(null, 100))
+                .thenThrow(new RestaurantDoesNotExistException("no restaurants found"));
+
+        assertThrows(RestaurantDoesNotExistException.class, () -> restaurantPageSnapshotService.getPage(null, 100));
+        assertThrows(RestaurantDoesNotExistException.class, () -> restaurantPageSnapshotService.getPage(null, 100));
+
+        verify(restaurantService, times(2)).findAllRestaurants(null, 100);
+    }
+}
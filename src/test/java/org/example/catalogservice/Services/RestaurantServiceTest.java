@@ -1,19 +1,40 @@
 package org.example.catalogservice.Services;
 
+import org.example.catalogservice.DTO.BulkInsertResultDTO;
+import org.example.catalogservice.DTO.BulkRowErrorDTO;
+import org.example.catalogservice.DTO.LookupResultDTO;
+import org.example.catalogservice.DTO.MenuItemSummaryDTO;
+import org.example.catalogservice.DTO.MenuQueryDTO;
+import org.example.catalogservice.DTO.RequestDTO;
+import org.example.catalogservice.DTO.RestaurantSummaryDTO;
+import org.example.catalogservice.Events.MenuItemsAssignedEvent;
+import org.example.catalogservice.Events.RestaurantsCreatedEvent;
 import org.example.catalogservice.Exceptions.*;
+import org.example.catalogservice.Models.CatalogChange;
 import org.example.catalogservice.Models.MenuItem;
 import org.example.catalogservice.Models.Restaurant;
 import org.example.catalogservice.Repositories.MenuItemRepository;
+import org.example.catalogservice.Repositories.RestaurantJdbcRepository;
+import org.example.catalogservice.Repositories.RestaurantMenuItemRepository;
 import org.example.catalogservice.Repositories.RestaurantRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,10 +53,34 @@ class RestaurantServiceTest {
     @Mock
     private MenuItemService menuItemService;
 
+    @Mock
+    private RestaurantMenuItemRepository restaurantMenuItemRepository;
+
+    @Mock
+    private RestaurantJdbcRepository restaurantJdbcRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CatalogChangeService catalogChangeService;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
         when(menuItemRepository.findById(anyInt())).thenReturn(Optional.of(new MenuItem()));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> action = invocation.getArgument(0);
+            return action.doInTransaction(null);
+        });
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
     }
 
     @Test
@@ -50,6 +95,9 @@ class RestaurantServiceTest {
 
         assertEquals("restaurant added successfully", response);
         verify(restaurantRepository, times(1)).save(any(Restaurant.class));
+        verify(catalogChangeService, times(1)).record(CatalogChange.ChangeType.RESTAURANT_CREATED, null, null);
+        verify(eventPublisher, times(1)).publishEvent(new RestaurantsCreatedEvent(List.of(
+                new RestaurantSummaryDTO(null, name, address))));
     }
 
     @Test
@@ -89,6 +137,114 @@ class RestaurantServiceTest {
 
         assertEquals("restaurant details already added", exception.getMessage());
         verify(restaurantRepository, times(1)).save(any(Restaurant.class));
+        verify(catalogChangeService, never()).record(any(), any(), any());
+    }
+
+    @Test
+    void testAddRestaurantsInsertsInBatchesAndReportsDuplicates() {
+        ReflectionTestUtils.setField(restaurantService, "batchSize", 2);
+        when(restaurantJdbcRepository.insertIgnoringDuplicates(anyList()))
+                .thenReturn(List.of(new RestaurantSummaryDTO(1, "Pizza Place", "123 Main St")))
+                .thenReturn(List.of(new RestaurantSummaryDTO(2, "Burger Barn", "789 High St")));
+
+        BulkInsertResultDTO result = restaurantService.addRestaurants(List.of(
+                request("Pizza Place", "123 Main St"),
+                request("Pizza Place", "123 Main St"),
+                request("", "456 Side St"),
+                request("Burger Barn", "789 High St")).iterator());
+
+        assertEquals(4, result.getReceived());
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of(
+                new BulkRowErrorDTO(1, "restaurant details already added"),
+                new BulkRowErrorDTO(2, "name and address cannot be null or empty")), result.getRejected());
+        verify(restaurantJdbcRepository, times(2)).insertIgnoringDuplicates(anyList());
+        verify(catalogChangeService, times(2)).recordAll(eq(CatalogChange.ChangeType.RESTAURANT_CREATED), anyList());
+        verify(restaurantRepository, never()).save(any(Restaurant.class));
+    }
+
+    @Test
+    void testAddRestaurantsPublishesOnlyInsertedRowsWithTheirIds() {
+        ReflectionTestUtils.setField(restaurantService, "batchSize", 10);
+        // returned in a different order than sent: rows are matched by name and address, not by position
+        when(restaurantJdbcRepository.insertIgnoringDuplicates(anyList())).thenReturn(List.of(
+                new RestaurantSummaryDTO(8, "Burger Barn", "789 High St"),
+                new RestaurantSummaryDTO(7, "Pizza Place", "123 Main St")));
+
+        BulkInsertResultDTO result = restaurantService.addRestaurants(List.of(
+                request("Pizza Place", "123 Main St"),
+                request("Taco Stand", "5 Side St"),
+                request("Burger Barn", "789 High St")).iterator());
+
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of(new BulkRowErrorDTO(1, "restaurant details already added")), result.getRejected());
+        verify(catalogChangeService, times(1)).recordAll(CatalogChange.ChangeType.RESTAURANT_CREATED, List.of(8, 7));
+        verify(eventPublisher, times(1)).publishEvent(new RestaurantsCreatedEvent(List.of(
+                new RestaurantSummaryDTO(8, "Burger Barn", "789 High St"),
+                new RestaurantSummaryDTO(7, "Pizza Place", "123 Main St"))));
+    }
+
+    @Test
+    void testAddRestaurantsWithOnlyInvalidRowsDoesNotTouchDatabase() {
+        ReflectionTestUtils.setField(restaurantService, "batchSize", 10);
+
+        BulkInsertResultDTO result = restaurantService.addRestaurants(List.of(request("Pizza Place", null)).iterator());
+
+        assertEquals(1, result.getReceived());
+        assertEquals(0, result.getCreated());
+        assertEquals(1, result.getRejected().size());
+        verify(restaurantJdbcRepository, never()).insertIgnoringDuplicates(anyList());
+    }
+
+    @Test
+    void testAddRestaurantsStopsAtMalformedRowAndKeepsEarlierRows() {
+        ReflectionTestUtils.setField(restaurantService, "batchSize", 10);
+        when(restaurantJdbcRepository.insertIgnoringDuplicates(anyList())).thenReturn(List.of(
+                new RestaurantSummaryDTO(1, "Pizza Place", "123 Main St"), new RestaurantSummaryDTO(2, "Burger Barn", "789 High St")));
+        Iterator<RequestDTO> valid = List.of(request("Pizza Place", "123 Main St"), request("Burger Barn", "789 High St"))
+                .iterator();
+        Iterator<RequestDTO> requests = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                if (valid.hasNext()) {
+                    return true;
+                }
+                throw new MalformedBulkRowException("malformed restaurant");
+            }
+
+            @Override
+            public RequestDTO next() {
+                return valid.next();
+            }
+        };
+
+        BulkInsertResultDTO result = restaurantService.addRestaurants(requests);
+
+        assertTrue(result.isTruncated());
+        assertEquals(2, result.getReceived());
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of(new BulkRowErrorDTO(2, "malformed restaurant")), result.getRejected());
+        verify(restaurantJdbcRepository, times(1)).insertIgnoringDuplicates(anyList());
+    }
+
+    @Test
+    void testFindSummaryByIdSuccess() {
+        RestaurantSummaryDTO restaurant = new RestaurantSummaryDTO(1, "Pizza Place", "123 Main St");
+        when(restaurantRepository.findSummaryById(1)).thenReturn(Optional.of(restaurant));
+
+        assertEquals(restaurant, restaurantService.findSummaryById(1));
+        verify(restaurantRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void testFindSummaryByIdNotFound() {
+        when(restaurantRepository.findSummaryById(420)).thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(RestaurantDoesNotExistException.class, () -> {
+            restaurantService.findSummaryById(420);
+        });
+
+        assertEquals("restaurant does not exist", exception.getMessage());
     }
 
     @Test
@@ -114,64 +270,135 @@ class RestaurantServiceTest {
 
     @Test
     void testFindAllRestaurantsSuccess() {
-        Restaurant restaurant = new Restaurant("Pizza Place", "123 Main St");
-        when(restaurantRepository.findAll()).thenReturn(List.of(restaurant));
+        RestaurantSummaryDTO restaurant = new RestaurantSummaryDTO(1, "Pizza Place", "123 Main St");
+        when(restaurantRepository.findSummariesAfter(0, Limit.of(100))).thenReturn(List.of(restaurant));
 
-        List<Restaurant> restaurants = restaurantService.findAllRestaurants();
+        List<RestaurantSummaryDTO> restaurants = restaurantService.findAllRestaurants(null, 100);
 
         assertNotNull(restaurants);
         assertEquals(1, restaurants.size());
-        assertEquals("Pizza Place", restaurants.get(0).getName());
-        verify(restaurantRepository, times(2)).findAll();
+        assertEquals("Pizza Place", restaurants.get(0).name());
+        verify(restaurantRepository, times(1)).findSummariesAfter(0, Limit.of(100));
+        verify(restaurantRepository, never()).findAll();
+    }
+
+    @Test
+    void testFindAllRestaurantsAfterCursor() {
+        RestaurantSummaryDTO restaurant = new RestaurantSummaryDTO(43, "Pizza Place", "123 Main St");
+        when(restaurantRepository.findSummariesAfter(42, Limit.of(10))).thenReturn(List.of(restaurant));
+
+        List<RestaurantSummaryDTO> restaurants = restaurantService.findAllRestaurants(42, 10);
+
+        assertEquals(1, restaurants.size());
+        verify(restaurantRepository, times(1)).findSummariesAfter(42, Limit.of(10));
+    }
+
+    @Test
+    void testFindAllRestaurantsPastLastPageReturnsEmptyList() {
+        when(restaurantRepository.findSummariesAfter(42, Limit.of(10))).thenReturn(List.of());
+
+        List<RestaurantSummaryDTO> restaurants = restaurantService.findAllRestaurants(42, 10);
+
+        assertTrue(restaurants.isEmpty());
     }
 
     @Test
     void testFindAllRestaurantsNotFound() {
-        when(restaurantRepository.findAll()).thenReturn(List.of());
+        when(restaurantRepository.findSummariesAfter(0, Limit.of(100))).thenReturn(List.of());
 
         Exception exception = assertThrows(RestaurantDoesNotExistException.class, () -> {
-            restaurantService.findAllRestaurants();
+            restaurantService.findAllRestaurants(null, 100);
         });
 
         assertEquals("no restaurants found", exception.getMessage());
-        verify(restaurantRepository, times(1)).findAll();
+        verify(restaurantRepository, times(1)).findSummariesAfter(0, Limit.of(100));
+    }
+
+    @Test
+    void testFindAllRestaurantsInvalidLimit() {
+        Exception exception = assertThrows(InvalidPageRequestException.class, () -> {
+            restaurantService.findAllRestaurants(null, 1001);
+        });
+
+        assertEquals("limit must be between 1 and 1000", exception.getMessage());
+        verify(restaurantRepository, never()).findSummariesAfter(anyInt(), any());
+    }
+
+    @Test
+    void testLookupSummariesKeepsRequestOrderAndMarksMissingIds() {
+        when(restaurantRepository.findSummariesByIdIn(Set.of(2, 5))).thenReturn(List.of(
+                new RestaurantSummaryDTO(2, "Pizza Place", "123 Main St")));
+
+        List<LookupResultDTO<RestaurantSummaryDTO>> results = restaurantService.lookupSummaries(List.of(5, 2));
+
+        assertEquals(2, results.size());
+        assertEquals(5, results.get(0).id());
+        assertFalse(results.get(0).found());
+        assertNull(results.get(0).data());
+        assertTrue(results.get(1).found());
+        assertEquals(new RestaurantSummaryDTO(2, "Pizza Place", "123 Main St"), results.get(1).data());
+        verify(restaurantRepository, times(1)).findSummariesByIdIn(Set.of(2, 5));
+    }
+
+    @Test
+    void testLookupSummariesRejectsEmptyRequest() {
+        assertThrows(InvalidBulkRequestException.class, () -> restaurantService.lookupSummaries(List.of()));
+        verifyNoInteractions(restaurantRepository);
     }
 
     @Test
     void testAssignMenuItemToRestaurantSuccess() {
-        Restaurant restaurant = new Restaurant();
-        MenuItem menuItem1 = new MenuItem("Pizza", 100);
-        MenuItem menuItem2 = new MenuItem("Burger", 50);
+        MenuItemSummaryDTO menuItem1 = new MenuItemSummaryDTO(1, "Pizza", 100);
+        MenuItemSummaryDTO menuItem2 = new MenuItemSummaryDTO(2, "Burger", 50);
 
-        when(restaurantRepository.findById(anyInt())).thenReturn(Optional.of(restaurant));
-        when(menuItemService.findAllById(anyList())).thenReturn(List.of(menuItem1, menuItem2));
+        when(restaurantRepository.incrementMenuRevision(1)).thenReturn(1);
+        when(menuItemService.findSummariesById(anyList())).thenReturn(List.of(menuItem1, menuItem2));
+        when(restaurantMenuItemRepository.findAssignedMenuItemIds(1, List.of(1, 2))).thenReturn(Set.of());
+        when(restaurantRepository.findMenuRevisionById(1)).thenReturn(Optional.of(3L));
 
         String response = restaurantService.assignMenuItemToRestaurant(1, "1,2");
 
         assertEquals("menu items assigned to restaurant successfully", response);
-        verify(restaurantRepository, times(1)).findById(1);
-        verify(menuItemService, times(1)).findAllById(List.of(1, 2));
+        verify(restaurantRepository, times(1)).incrementMenuRevision(1);
+        verify(menuItemService, times(1)).findSummariesById(List.of(1, 2));
+        verify(restaurantMenuItemRepository, times(1)).assignMenuItems(1, List.of(1, 2));
+        verify(restaurantRepository, never()).save(any(Restaurant.class));
+        verify(restaurantRepository, never()).existsById(anyInt());
+        verify(eventPublisher, times(1)).publishEvent(new MenuItemsAssignedEvent(1, 3L, List.of(menuItem1, menuItem2)));
+        verify(catalogChangeService, times(1)).record(CatalogChange.ChangeType.MENU_CHANGED, 1, 3L);
+    }
+
+    @Test
+    void testAssignMenuItemToRestaurantIgnoresRepeatedIds() {
+        when(restaurantRepository.incrementMenuRevision(1)).thenReturn(1);
+        when(menuItemService.findSummariesById(anyList())).thenReturn(List.of(new MenuItemSummaryDTO(1, "Pizza", 100)));
+        when(restaurantMenuItemRepository.findAssignedMenuItemIds(1, List.of(1))).thenReturn(Set.of());
+        when(restaurantRepository.findMenuRevisionById(1)).thenReturn(Optional.of(1L));
+
+        restaurantService.assignMenuItemToRestaurant(1, "1, 1");
+
+        verify(menuItemService, times(1)).findSummariesById(List.of(1));
+        verify(restaurantMenuItemRepository, times(1)).assignMenuItems(1, List.of(1));
     }
 
     @Test
     void testAssignMenuItemToRestaurantRestaurantNotFound() {
-        when(restaurantRepository.findById(anyInt()))
-                .thenThrow(new RestaurantDoesNotExistException("restaurant does not exist"));
+        when(restaurantRepository.incrementMenuRevision(1)).thenReturn(0);
 
         Exception exception = assertThrows(RestaurantDoesNotExistException.class, () -> {
             restaurantService.assignMenuItemToRestaurant(1, "1,2");
         });
 
         assertEquals("restaurant does not exist", exception.getMessage());
-        verify(restaurantRepository, times(1)).findById(1);
-        verify(menuItemService, never()).findAllById(anyList());
+        verify(restaurantRepository, times(1)).incrementMenuRevision(1);
+        verify(menuItemService, never()).findSummariesById(anyList());
+        verify(restaurantMenuItemRepository, never()).assignMenuItems(anyInt(), anyList());
     }
 
     @Test
     void testAssignMenuItemToRestaurantMenuItemNotFound() {
-        Restaurant restaurant = new Restaurant();
-        when(restaurantRepository.findById(anyInt())).thenReturn(Optional.of(restaurant));
-        when(menuItemService.findAllById(anyList()))
+        when(restaurantRepository.incrementMenuRevision(1)).thenReturn(1);
+        when(menuItemService.findSummariesById(anyList()))
                 .thenThrow(new MenuItemDoesNotExistException("one or more menu items do not exist"));
 
         Exception exception = assertThrows(MenuItemDoesNotExistException.class, () -> {
@@ -179,71 +406,97 @@ class RestaurantServiceTest {
         });
 
         assertEquals("one or more menu items do not exist", exception.getMessage());
-        verify(restaurantRepository, times(1)).findById(1);
-        verify(menuItemService, times(1)).findAllById(List.of(1, 2));
+        verify(restaurantRepository, times(1)).incrementMenuRevision(1);
+        verify(menuItemService, times(1)).findSummariesById(List.of(1, 2));
+        verify(restaurantMenuItemRepository, never()).assignMenuItems(anyInt(), anyList());
     }
 
     @Test
     void testAssignMenuItemToRestaurantMenuItemAlreadyAssigned() {
-        Restaurant restaurant = new Restaurant();
-        MenuItem menuItem = new MenuItem("Pizza", 100);
-        restaurant.getMenu().add(menuItem);
+        MenuItemSummaryDTO menuItem = new MenuItemSummaryDTO(1, "Pizza", 100);
 
-        when(restaurantRepository.findById(anyInt())).thenReturn(Optional.of(restaurant));
-        when(menuItemService.findAllById(anyList())).thenReturn(List.of(menuItem));
+        when(restaurantRepository.incrementMenuRevision(1)).thenReturn(1);
+        when(menuItemService.findSummariesById(anyList())).thenReturn(List.of(menuItem));
+        when(restaurantMenuItemRepository.findAssignedMenuItemIds(1, List.of(1))).thenReturn(Set.of(1));
 
         Exception exception = assertThrows(MenuItemAlreadyAssignedException.class, () -> {
             restaurantService.assignMenuItemToRestaurant(1, "1");
         });
 
         assertEquals("menu item already assigned to restaurant", exception.getMessage());
-        verify(restaurantRepository, times(1)).findById(1);
-        verify(menuItemService, times(1)).findAllById(List.of(1));
+        verify(restaurantRepository, times(1)).incrementMenuRevision(1);
+        verify(menuItemService, times(1)).findSummariesById(List.of(1));
+        verify(restaurantMenuItemRepository, never()).assignMenuItems(anyInt(), anyList());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void testGetAllMenuItemsByRestaurantIdSuccess() {
-        Restaurant restaurant = new Restaurant();
-        MenuItem menuItem1 = new MenuItem("Pizza", 100);
-        MenuItem menuItem2 = new MenuItem("Burger", 50);
-        restaurant.getMenu().add(menuItem1);
-        restaurant.getMenu().add(menuItem2);
+        when(restaurantRepository.findMenuSummariesByRestaurantId(1)).thenReturn(List.of(
+                new MenuItemSummaryDTO(1, "Pizza", 100),
+                new MenuItemSummaryDTO(2, "Burger", 50)));
 
-        when(restaurantRepository.findById(1)).thenReturn(Optional.of(restaurant));
-
-        List<MenuItem> result = restaurantService.getAllMenuItemsByRestaurantId(1);
+        List<MenuItemSummaryDTO> result = restaurantService.getAllMenuItemsByRestaurantId(1);
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        assertEquals("Pizza", result.get(0).getName());
-        assertEquals("Burger", result.get(1).getName());
-        verify(restaurantRepository, times(1)).findById(1);
+        assertEquals("Pizza", result.get(0).name());
+        assertEquals("Burger", result.get(1).name());
+        verify(restaurantRepository, times(1)).findMenuSummariesByRestaurantId(1);
+        verify(restaurantRepository, never()).findById(anyInt());
     }
 
     @Test
     void testGetAllMenuItemsByRestaurantIdRestaurantNotFound() {
-        when(restaurantRepository.findById(1)).thenReturn(Optional.empty());
+        when(restaurantRepository.findMenuSummariesByRestaurantId(1)).thenReturn(List.of());
+        when(restaurantRepository.existsById(1)).thenReturn(false);
 
         Exception exception = assertThrows(RestaurantDoesNotExistException.class, () -> {
             restaurantService.getAllMenuItemsByRestaurantId(1);
         });
 
         assertEquals("restaurant does not exist", exception.getMessage());
-        verify(restaurantRepository, times(1)).findById(1);
+        verify(restaurantRepository, times(1)).existsById(1);
     }
 
     @Test
     void testGetMenuItemsByRestaurantIdNoAllMenuItems() {
-        Restaurant restaurant = new Restaurant();
-
-        when(restaurantRepository.findById(1)).thenReturn(Optional.of(restaurant));
+        when(restaurantRepository.findMenuSummariesByRestaurantId(1)).thenReturn(List.of());
+        when(restaurantRepository.existsById(1)).thenReturn(true);
 
         Exception exception = assertThrows(MenuItemDoesNotExistException.class, () -> {
             restaurantService.getAllMenuItemsByRestaurantId(1);
         });
 
         assertEquals("no menu items found for this restaurant", exception.getMessage());
-        verify(restaurantRepository, times(1)).findById(1);
+        verify(restaurantRepository, times(1)).existsById(1);
+    }
+
+    @Test
+    void testFindMenuItemsSortedByPricePushesTheRangeDown() {
+        List<MenuItemSummaryDTO> cheapest = List.of(new MenuItemSummaryDTO(2, "Fries", 100));
+        when(restaurantRepository.findMenuSummariesByPrice(1, 100, 300, Limit.of(10))).thenReturn(cheapest);
+
+        assertEquals(cheapest, restaurantService.findMenuItems(1, new MenuQueryDTO(100, 300, true, 10)));
+        verify(restaurantRepository, never()).findMenuSummariesInPriceRange(anyInt(), anyInt(), anyInt(), any());
+        verify(restaurantRepository, never()).existsById(anyInt());
+    }
+
+    @Test
+    void testFindMenuItemsWithNothingInRangeReturnsEmptyList() {
+        when(restaurantRepository.findMenuSummariesInPriceRange(1, 100, 300, Limit.of(10))).thenReturn(List.of());
+        when(restaurantRepository.existsById(1)).thenReturn(true);
+
+        assertTrue(restaurantService.findMenuItems(1, new MenuQueryDTO(100, 300, false, 10)).isEmpty());
+    }
+
+    @Test
+    void testFindMenuItemsRestaurantNotFound() {
+        when(restaurantRepository.findMenuSummariesByPrice(1, 0, 300, Limit.of(10))).thenReturn(List.of());
+        when(restaurantRepository.existsById(1)).thenReturn(false);
+
+        assertThrows(RestaurantDoesNotExistException.class,
+                () -> restaurantService.findMenuItems(1, new MenuQueryDTO(0, 300, true, 10)));
     }
 
     @Test
@@ -252,40 +505,48 @@ class RestaurantServiceTest {
         when(menuItem.getId()).thenReturn(1);
         when(menuItem.getName()).thenReturn("Pizza");
         when(menuItem.getPrice()).thenReturn(100);
-        Restaurant restaurant = new Restaurant();
-        restaurant.getMenu().add(menuItem);
 
-        when(restaurantRepository.findById(1)).thenReturn(Optional.of(restaurant));
+        when(restaurantRepository.findMenuItemByRestaurantId(1, 1)).thenReturn(Optional.of(menuItem));
 
         MenuItem result = restaurantService.getSelectedMenuItemByRestaurantId(1, 1);
 
         assertNotNull(result);
         assertEquals(1, result.getId());
         assertEquals("Pizza", result.getName());
-        verify(restaurantRepository, times(1)).findById(1);
+        verify(restaurantRepository, times(1)).findMenuItemByRestaurantId(1, 1);
+        verify(restaurantRepository, never()).findById(anyInt());
+        verify(restaurantRepository, never()).existsById(anyInt());
     }
 
     @Test
     void testGetSelectedMenuItemByRestaurantIdRestaurantNotFound() {
-        when(restaurantRepository.findById(1)).thenReturn(Optional.empty());
+        when(restaurantRepository.findMenuItemByRestaurantId(1, 1)).thenReturn(Optional.empty());
+        when(restaurantRepository.existsById(1)).thenReturn(false);
 
         assertThrows(RestaurantDoesNotExistException.class, () -> {
             restaurantService.getSelectedMenuItemByRestaurantId(1, 1);
         });
 
-        verify(restaurantRepository, times(1)).findById(1);
+        verify(restaurantRepository, times(1)).existsById(1);
     }
 
     @Test
     void testGetSelectedMenuItemByIdMenuItemsNotFound() {
-        Restaurant restaurant = new Restaurant();
-
-        when(restaurantRepository.findById(1)).thenReturn(Optional.of(restaurant));
+        when(restaurantRepository.findMenuItemByRestaurantId(1, 1)).thenReturn(Optional.empty());
+        when(restaurantRepository.existsById(1)).thenReturn(true);
 
-        assertThrows(RestaurantDoesNotOwnMenuItemException.class, () -> {
+        Exception exception = assertThrows(RestaurantDoesNotOwnMenuItemException.class, () -> {
             restaurantService.getSelectedMenuItemByRestaurantId(1, 1);
         });
 
-        verify(restaurantRepository, times(1)).findById(1);
+        assertEquals("Restaurant does not own the menu item with id: 1", exception.getMessage());
+        verify(restaurantRepository, times(1)).existsById(1);
+    }
+
+    private static RequestDTO request(String name, String address) {
+        RequestDTO request = new RequestDTO();
+        request.setName(name);
+        request.setAddress(address);
+        return request;
     }
 }
\ No newline at end of file